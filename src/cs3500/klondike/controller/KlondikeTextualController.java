@@ -2,6 +2,9 @@ package cs3500.klondike.controller;
 
 import cs3500.klondike.model.hw02.Card;
 import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw02.MoveResult;
+import cs3500.klondike.solver.HintEngine;
 
 import cs3500.klondike.view.KlondikeTextualView;
 import java.io.IOException;
@@ -15,14 +18,21 @@ import java.util.Scanner;
  */
 public class KlondikeTextualController implements cs3500.klondike.controller.KlondikeController {
 
+  // the most milliseconds a hint may take unless another budget is given
+  private static final long DEFAULT_HINT_MILLIS = 200;
+
   // the Readable object from which user input will be read
   private Readable rd;
   // the Appendable object to which game output will be written
   private Appendable ap;
-
+  // the integer arguments of the command currently being read, reused for every command
+  private final int[] args;
+  // suggests moves for the "h" command, or null until the first one if none was given
+  private HintEngine hints;
 
   /**
    * Constructs a new KlondikeTextualController with the given Readable and Appendable objects.
+   * A hint engine is only made once the first hint is asked for.
    *
    * @param r the Readable object from which user input will be read
    * @param a the Appendable object to which game output will be written
@@ -34,6 +44,24 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
     }
     this.rd = r;
     this.ap = a;
+    this.args = new int[3];
+    this.hints = null;
+  }
+
+  /**
+   * Constructs a new KlondikeTextualController that suggests moves with the given hint engine.
+   *
+   * @param r     the Readable object from which user input will be read
+   * @param a     the Appendable object to which game output will be written
+   * @param hints the engine that suggests moves for the "h" command
+   * @throws IllegalArgumentException if any of the inputs are null
+   */
+  public KlondikeTextualController(Readable r, Appendable a, HintEngine hints) {
+    this(r, a);
+    if (hints == null) {
+      throw new IllegalArgumentException("inputs cannot be null");
+    }
+    this.hints = hints;
   }
 
 
@@ -69,23 +97,31 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
         switch (userInput) {
           // MOVE PILE
           case "mpp":
-            doMpp(model, scanner);
+            quit = handleMoveResult(model, view, doMpp(model, scanner));
             break;
           // MOVE DRAW:
           case "md":
-            doMd(model, scanner);
+            quit = handleMoveResult(model, view, doMd(model, scanner));
             break;
           // MOVE PILE TO FOUNDATION:
           case "mpf":
-            doMpf(model, scanner);
+            quit = handleMoveResult(model, view, doMpf(model, scanner));
             break;
           // MOVE DRAW TO FOUNDATION:
           case "mdf":
-            doMdf(model, scanner);
+            quit = handleMoveResult(model, view, doMdf(model, scanner));
             break;
           // DISCARD DRAW:
           case "dd":
-            model.discardDraw();
+            quit = handleMoveResult(model, view, model.tryDiscardDraw());
+            break;
+          // AUTO-PLAY EVERY SAFE MOVE TO THE FOUNDATIONS:
+          case "af":
+            doAf(model);
+            break;
+          // HINT, WHICH DOES NOT CHANGE THE GAME:
+          case "h":
+            doHint(model);
             break;
           // THE GAME IS QUIT:
           case "q":
@@ -113,11 +149,11 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
       }
       // CATCHES EXCEPTIONS DURING GAME AND APPENDS ACCORDINGLY
       catch (IllegalArgumentException | IllegalStateException e) {
-        quit = handleGameExceptions(model, e, view, quit);
+        handleGameBaseException(e);
       }
     }
     // CHECKS IF THE GAME IS OVER AND IF YOU LOST OR WON
-    finalizeWinOrGameOver(model, deck, view);
+    finalizeWinOrGameOver(model, view);
   }
 
 
@@ -137,32 +173,26 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
   }
 
   /**
-   * Handles general game exceptions that occur during gameplay.
-   * If the exception indicates a "Game quit" scenario, the game will be terminated.
-   * Otherwise, it appends a relevant message to the output.
+   * Handles the result of a move command. If the command was quit while reading its arguments,
+   * the game will be terminated. If the move was not made, it appends the reason to the output.
    *
    * @param model the Klondike game model
-   * @param e the exception encountered during the game
    * @param view the textual view used to render the game state
-   * @param quit the current state indicating if the game is quit or not
+   * @param result the result of the move, or null if the game was quit
    * @return a boolean indicating if the game should be quit
-   * @throws IllegalStateException if there is an error during appending to the output
+   * @throws IOException if there is an error during appending to the output
    */
-  private boolean handleGameExceptions(KlondikeModel model, RuntimeException e,
-      KlondikeTextualView view,
-      boolean quit) {
-    if (e.getMessage().equals("Game quit")) {
-      try {
-        doQuit(model, view);
-        quit = true;
-      } catch (IOException x) {
-        throw new IllegalStateException("error appending");
-      }
-    } else {
-      // helpe method to handle invalid move exceptions
-      handleGameBaseException(e);
+  private boolean handleMoveResult(KlondikeModel model, KlondikeTextualView view,
+      MoveResult result) throws IOException {
+    if (result == null) {
+      doQuit(model, view);
+      return true;
+    }
+    if (!result.isSuccess()) {
+      ap.append("Invalid move. Play again. ").append(result.getMessage());
+      appendN();
     }
-    return quit;
+    return false;
   }
 
   /**
@@ -170,15 +200,13 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
    * Renders the final state of the game and appends the appropriate message to the output.
    *
    * @param model the Klondike game model
-   * @param deck the deck of cards to be used in the game
    * @param view the textual view used to render the game state
    * @throws IllegalStateException if there is an error during output
    */
-  private void finalizeWinOrGameOver(KlondikeModel model, List<Card> deck,
-      KlondikeTextualView view) {
+  private void finalizeWinOrGameOver(KlondikeModel model, KlondikeTextualView view) {
     try {
       if (model.isGameOver()) {
-        if (determineIfGameWon(model, deck)) {
+        if (model.isWon()) {
           doYouWin(view);
         } else {
           view.render();
@@ -268,78 +296,130 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
   }
 
   /**
-   * Handles the "Move Draw to Foundation" command by reading the foundation pile number from
-   * the input and invoking the model's moveDrawToFoundation method.
+   * Handles the "Auto Foundation" command by moving every card that is safe to move to the
+   * foundation piles at once, and appending how many were moved.
    *
    * @param model the Klondike game model
-   * @param scanner the scanner used to read user input
+   * @throws IOException if there's an error during appending
    */
-  private void doMdf(KlondikeModel model, Scanner scanner) {
-    int mdfFoundationPile = nextInt(scanner) - 1;
-    model.moveDrawToFoundation(mdfFoundationPile);
+  private void doAf(KlondikeModel model) throws IOException {
+    int numMoved = model.autoPlayToFoundations();
+    ap.append("Moved ").append(Integer.toString(numMoved))
+        .append(numMoved == 1 ? " card" : " cards").append(" to the foundations.");
+    appendN();
   }
 
   /**
-   * Handles the "Move Pile to Foundation" command by reading the pile number and foundation number
-   * from the input and invoking the model's moveToFoundation method.
+   * Handles the "Hint" command by appending the move the hint engine suggests, written as the
+   * command that plays it. The hint only relies on the cards the player can see (see
+   * {@link HintEngine}). The game is not changed, and the default hint engine is made here the
+   * first time it is needed.
+   *
+   * @param model the Klondike game model
+   * @throws IOException if there's an error during appending
+   */
+  private void doHint(KlondikeModel model) throws IOException {
+    if (hints == null) {
+      hints = new HintEngine(DEFAULT_HINT_MILLIS);
+    }
+    int move = hints.hint(model);
+    if (move < 0) {
+      ap.append("No useful moves left.");
+    } else {
+      ap.append("Hint: ").append(describeMove(move));
+    }
+    appendN();
+  }
+
+  /**
+   * Writes a move as the command that plays it, with 1-based pile numbers.
+   *
+   * @param move the move, encoded as by {@link MoveBuffer}
+   * @return the command
+   */
+  private static String describeMove(int move) {
+    int source = MoveBuffer.source(move) + 1;
+    int destination = MoveBuffer.destination(move) + 1;
+    switch (MoveBuffer.type(move)) {
+      case MoveBuffer.PILE_TO_PILE:
+        return "mpp " + source + " " + MoveBuffer.numCards(move) + " " + destination;
+      case MoveBuffer.DRAW_TO_PILE:
+        return "md " + destination;
+      case MoveBuffer.PILE_TO_FOUNDATION:
+        return "mpf " + source + " " + destination;
+      case MoveBuffer.DRAW_TO_FOUNDATION:
+        return "mdf " + destination;
+      default:
+        return "dd";
+    }
+  }
+
+  /**
+   * Handles the "Move Draw to Foundation" command by reading the foundation pile number from
+   * the input and invoking the model's tryMoveDrawToFoundation method.
    *
    * @param model the Klondike game model
    * @param scanner the scanner used to read user input
+   * @return the result of the move, or null if the game was quit
    */
-  private void doMpf(KlondikeModel model, Scanner scanner) {
-    int pileNumber = nextInt(scanner) - 1;
-    int foundationNumber = nextInt(scanner) - 1;
-    model.moveToFoundation(pileNumber, foundationNumber);
+  private MoveResult doMdf(KlondikeModel model, Scanner scanner) {
+    if (!readArgs(scanner, 1)) {
+      return null;
+    }
+    int mdfFoundationPile = args[0] - 1;
+    return model.tryMoveDrawToFoundation(mdfFoundationPile);
   }
 
   /**
-   * Handles the "Move Draw" command by reading the destination pile number from the input
-   * and invoking the model's moveDraw method.
+   * Handles the "Move Pile to Foundation" command by reading the pile number and foundation number
+   * from the input and invoking the model's tryMoveToFoundation method.
    *
    * @param model the Klondike game model
    * @param scanner the scanner used to read user input
+   * @return the result of the move, or null if the game was quit
    */
-  private void doMd(KlondikeModel model, Scanner scanner) {
-    int drawDestinationPile = nextInt(scanner) - 1;
-    model.moveDraw(drawDestinationPile);
+  private MoveResult doMpf(KlondikeModel model, Scanner scanner) {
+    if (!readArgs(scanner, 2)) {
+      return null;
+    }
+    int pileNumber = args[0] - 1;
+    int foundationNumber = args[1] - 1;
+    return model.tryMoveToFoundation(pileNumber, foundationNumber);
   }
 
   /**
-   * Handles the "Move Pile to Pile" command by reading the source pile number, number of cards,
-   * and destination pile number from the input and invoking the model's movePile method.
+   * Handles the "Move Draw" command by reading the destination pile number from the input
+   * and invoking the model's tryMoveDraw method.
    *
    * @param model the Klondike game model
    * @param scanner the scanner used to read user input
+   * @return the result of the move, or null if the game was quit
    */
-  private void doMpp(KlondikeModel model, Scanner scanner) {
-    // uses nextInt helper method
-    int source = nextInt(scanner) - 1;
-    int numCards = nextInt(scanner);
-    int destination = nextInt(scanner) - 1;
-    model.movePile(source, numCards, destination);
+  private MoveResult doMd(KlondikeModel model, Scanner scanner) {
+    if (!readArgs(scanner, 1)) {
+      return null;
+    }
+    int drawDestinationPile = args[0] - 1;
+    return model.tryMoveDraw(drawDestinationPile);
   }
 
   /**
-   * Determines if the game has been won based on the maximum card value, the number of aces, and
-   * the current game score.
+   * Handles the "Move Pile to Pile" command by reading the source pile number, number of cards,
+   * and destination pile number from the input and invoking the model's tryMovePile method.
    *
    * @param model the Klondike game model
-   * @param deck  the deck of cards to be used in the game
-   * @return true if the game has been won, false otherwise
+   * @param scanner the scanner used to read user input
+   * @return the result of the move, or null if the game was quit
    */
-  private boolean determineIfGameWon(KlondikeModel model, List<Card> deck) {
-    int maxValue = 0;
-    int numberOfAces = 0;
-    for (Card c : deck) {
-      int cardVal = c.getValue();
-      if (cardVal > maxValue) {
-        maxValue = cardVal;
-      }
-      if (cardVal == 1) {
-        numberOfAces++;
-      }
+  private MoveResult doMpp(KlondikeModel model, Scanner scanner) {
+    // uses readArgs helper method
+    if (!readArgs(scanner, 3)) {
+      return null;
     }
-    return (maxValue * numberOfAces) == model.getScore();
+    int source = args[0] - 1;
+    int numCards = args[1];
+    int destination = args[2] - 1;
+    return model.tryMovePile(source, numCards, destination);
   }
 
   /**
@@ -359,21 +439,25 @@ public class KlondikeTextualController implements cs3500.klondike.controller.Klo
   }
 
   /**
-   * Retrieves the next integer from the scanner input, skipping any invalid tokens. If a quit
-   * command ('q' or 'Q') is encountered, the game is terminated.
+   * Reads the given number of integer arguments of a command into args, skipping any invalid
+   * tokens. If a quit command ('q' or 'Q') is encountered, it stops reading without consuming it.
    *
    * @param scanner the scanner used to read user input
-   * @return the next valid integer from the input
-   * @throws IllegalStateException if a quit command is encountered
+   * @param count the number of integers to read
+   * @return true if every argument was read, false if a quit command was encountered
+   * @throws NoSuchElementException if the input runs out
    */
-  private int nextInt(Scanner scanner) {
-    while (!scanner.hasNextInt()) {
-      if (scanner.hasNext("q") || scanner.hasNext("Q")) {
-        throw new IllegalStateException("Game quit");
+  private boolean readArgs(Scanner scanner, int count) {
+    for (int i = 0; i < count; i++) {
+      while (!scanner.hasNextInt()) {
+        if (scanner.hasNext("q") || scanner.hasNext("Q")) {
+          return false;
+        }
+        scanner.next(); // Skip invalid token
       }
-      scanner.next(); // Skip invalid token
+      args[i] = scanner.nextInt();
     }
-    return scanner.nextInt();
+    return true;
   }
 
 }
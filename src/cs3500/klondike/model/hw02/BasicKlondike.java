@@ -2,10 +2,9 @@ package cs3500.klondike.model.hw02;
 
 import cs3500.klondike.model.hw02.CardImpl.Suit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 
 /**
@@ -22,21 +21,141 @@ import java.util.Map;
  */
 public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
-  protected List<Card> deck;
-  protected List<List<Card>> cascadePiles;
-  protected List<List<Card>> foundationPiles;
+  // marks a foundation pile that has no cards yet
+  protected static final int EMPTY_FOUNDATION = -1;
+
+  protected DrawPile deck;
+  protected CascadePile[] cascadePiles;
+  // the code of the top card of each foundation pile, or EMPTY_FOUNDATION
+  protected int[] foundationPiles;
   protected boolean gameStarted;
   protected int numberOfDrawCardsVisible;
+  // the sum of the values of the top foundation cards, kept up to date by every move. Since
+  // every foundation pile is a run from its ace, this is also the number of foundation cards
+  protected int score;
+  // the score of a won game, which is also the number of cards in the game
+  protected int maxScore;
+  // the cards the piles need and the cards that can be moved, for detecting the end of the game
+  private MoveIndex moveIndex;
+  // the moves made so far, to undo and redo them
+  private MoveJournal journal;
+  // the Zobrist hash of the cascade and foundation piles; the draw pile keeps its own
+  private long tableHash;
 
   /**
    * Constructs a new BasicKlondike game instance.
    */
   public BasicKlondike() {
-    this.deck = getDeck();
-    this.cascadePiles = new ArrayList<>();
-    this.foundationPiles = new ArrayList<>();
+    this.deck = new DrawPile();
+    this.cascadePiles = new CascadePile[0];
+    this.foundationPiles = new int[0];
     this.gameStarted = false;
     this.numberOfDrawCardsVisible = 0;
+    this.score = 0;
+    this.maxScore = 0;
+    this.moveIndex = new MoveIndex(0);
+    this.journal = new MoveJournal();
+  }
+
+  /**
+   * Constructs a copy of the given game in its current state, which shares no mutable state
+   * with it.
+   *
+   * @param other the game to copy
+   */
+  protected BasicKlondike(BasicKlondike other) {
+    this.deck = new DrawPile(other.deck);
+    this.cascadePiles = new CascadePile[other.cascadePiles.length];
+    for (int i = 0; i < this.cascadePiles.length; i++) {
+      this.cascadePiles[i] = new CascadePile(other.cascadePiles[i], this::continuesRun);
+    }
+    this.foundationPiles = other.foundationPiles.clone();
+    this.gameStarted = other.gameStarted;
+    this.numberOfDrawCardsVisible = other.numberOfDrawCardsVisible;
+    this.score = other.score;
+    this.maxScore = other.maxScore;
+    this.moveIndex = new MoveIndex(other.moveIndex);
+    this.journal = new MoveJournal(other.journal);
+    this.tableHash = other.tableHash;
+  }
+
+  @Override
+  public KlondikeModel copy() {
+    return new BasicKlondike(this);
+  }
+
+  @Override
+  public KlondikeState getState() throws IllegalStateException {
+    checkGameStarted();
+
+    int[][] piles = new int[this.cascadePiles.length][];
+    int[] firstFaceUp = new int[this.cascadePiles.length];
+    for (int i = 0; i < piles.length; i++) {
+      piles[i] = this.cascadePiles[i].toArray();
+      firstFaceUp[i] = this.cascadePiles[i].firstFaceUp();
+    }
+    int[] draw = new int[this.deck.size()];
+    for (int i = 0; i < draw.length; i++) {
+      draw[i] = this.deck.get(i);
+    }
+    return new KlondikeState(newGameWithSameRules(), piles, firstFaceUp,
+        this.foundationPiles.clone(), draw, this.numberOfDrawCardsVisible, this.score,
+        this.maxScore, drawPass(), numDiscardedThisPass());
+  }
+
+  /**
+   * Creates a new, unstarted game of this variant with the same settings, which a
+   * {@link KlondikeState} asks for the rules it follows.
+   *
+   * @return the new game
+   */
+  protected BasicKlondike newGameWithSameRules() {
+    return new BasicKlondike();
+  }
+
+  /**
+   * Returns the number of passes through the draw pile this variant allows, after which
+   * discarded draw cards are removed for good. A basic game allows any number.
+   *
+   * @return the number of passes allowed
+   */
+  protected int numDrawPassesAllowed() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Returns the pass through the draw pile the game is on, counting from 1.
+   *
+   * @return the current pass
+   */
+  protected int drawPass() {
+    return 1;
+  }
+
+  /**
+   * Returns the number of cards discarded during the current pass through the draw pile.
+   * A basic game does not count them, since every pass is the same.
+   *
+   * @return the number of cards discarded during this pass
+   */
+  protected int numDiscardedThisPass() {
+    return 0;
+  }
+
+  /**
+   * Decides what discarding the first draw card does in this variant. Both
+   * {@link #tryDiscardDraw()} and {@link KlondikeState} discard by this rule, and states ask an
+   * unstarted game of the same variant, so the rule may only depend on its arguments and on
+   * how the game was constructed. A basic game always moves the card to the back of the draw
+   * pile and does not count its passes.
+   *
+   * @param drawPass             the pass through the draw pile the game is on, counting from 1
+   * @param numDiscardedThisPass the number of cards discarded during that pass
+   * @param drawSize             the number of cards in the draw pile, which is not empty
+   * @return what the discard does
+   */
+  protected DrawDiscard discardRule(int drawPass, int numDiscardedThisPass, int drawSize) {
+    return new DrawDiscard(drawPass, numDiscardedThisPass, true);
   }
 
   @Override
@@ -45,7 +164,7 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     for (Suit suit : Suit.values()) {
       for (int i = 1; i <= 13; i++) {
-        newDeck.add(new CardImpl(i, suit));
+        newDeck.add(CardImpl.of(i, suit));
       }
     }
     return newDeck;
@@ -53,7 +172,9 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
 
   /**
-   * Determines if the given deck is valid.
+   * Determines if the given deck is valid. A deck is valid if every suit in it is made of one or
+   * more complete runs of the values from ace up to the same highest value, so every suit in the
+   * deck holds each value from 1 to that highest value the same number of times.
    *
    * @param deck the list of cards representing a deck
    * @return true if the deck is valid, false otherwise
@@ -63,14 +184,18 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     checkBaseValidDeckCases(deck);
 
-    List<List<Integer>> allValues = sortDeckValuesIntoLists(deck);
-    if (allValues == null) {
+    int[][] counts = new int[Suit.values().length][CardImpl.NUM_VALUES];
+    int maxValue = countDeckValues(deck, counts);
+    if (maxValue < 0) {
       return false;
     }
 
-    for (int i = 0; i < allValues.size(); i++) {
-      for (int j = i + 1; j < allValues.size(); j++) {
-        if (!allValues.get(i).equals(allValues.get(j))) {
+    // every value of a suit up to the highest value must appear as often as its ace,
+    // and a suit without aces cannot have any cards
+    for (int[] suitCounts : counts) {
+      int numRuns = suitCounts[0];
+      for (int value = 0; value < maxValue; value++) {
+        if (suitCounts[value] != numRuns) {
           return false;
         }
       }
@@ -80,53 +205,31 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
   }
 
   /**
-   * Sorts the values of cards in the deck into separate lists.
+   * Counts how many times each card of the deck appears, in a single pass over the deck.
    *
    * @param deck the list of cards representing a deck
-   * @return a list of lists containing sorted card values, or null if the sorting fails
+   * @param counts the number of times each card appears, indexed by suit ordinal and value - 1
+   * @return the highest card value in the deck, or -1 if a card has a value that is not valid
+   * @throws IllegalArgumentException if the deck contains null cards
    */
-  private static List<List<Integer>> sortDeckValuesIntoLists(List<Card> deck) {
-    Map<Suit, List<List<Integer>>> suitToValuesMap = new HashMap<>();
+  private static int countDeckValues(List<Card> deck, int[][] counts) {
+    int maxValue = 0;
+    boolean validValues = true;
 
     for (Card card : deck) {
-      List<List<Integer>> suitValuesList = suitToValuesMap.computeIfAbsent(card.getSuit(),
-          k -> new ArrayList<>());
-
-      boolean added = false;
-      for (List<Integer> values : suitValuesList) {
-        if (!values.contains(card.getValue())) {
-          values.add(card.getValue());
-          added = true;
-          break;
-        }
-      }
-
-      if (!added) {
-        List<Integer> newValuesList = new ArrayList<>();
-        newValuesList.add(card.getValue());
-        suitValuesList.add(newValuesList);
+      if (card == null) {
+        throw new IllegalArgumentException("Deck contains null card(s)");
       }
-    }
-
-    List<List<Integer>> allValues = new ArrayList<>();
-
-    for (List<List<Integer>> valuesList : suitToValuesMap.values()) {
-      for (List<Integer> values : valuesList) {
-        Collections.sort(values);
-
-        if (values.get(0) != 1) {
-          return null;
-        }
-
-        for (int i = 1; i < values.size(); i++) {
-          if (values.get(i - 1) + 1 != values.get(i)) {
-            return null;
-          }
-        }
-        allValues.add(values);
+      int value = card.getValue();
+      if (value < 1 || value > CardImpl.NUM_VALUES) {
+        // keep going so that a later null card is still reported
+        validValues = false;
+        continue;
       }
+      counts[card.getSuit().ordinal()][value - 1]++;
+      maxValue = Math.max(maxValue, value);
     }
-    return allValues;
+    return validValues ? maxValue : -1;
   }
 
 
@@ -134,7 +237,7 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
    * Checks basic validations for the given deck.
    *
    * @param deck the list of cards representing a deck
-   * @throws IllegalArgumentException if the deck is null, empty, or contains null cards
+   * @throws IllegalArgumentException if the deck is null or empty
    */
   private static void checkBaseValidDeckCases(List<Card> deck) {
     if (deck == null) {
@@ -143,12 +246,6 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
     if (deck.isEmpty()) {
       throw new IllegalArgumentException("Deck can't be empty");
     }
-
-    for (Card card : deck) {
-      if (card == null) {
-        throw new IllegalArgumentException("Deck contains null card(s)");
-      }
-    }
   }
 
 
@@ -161,12 +258,32 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     // STEP 2: MAKE ALL BOTTOM CARDS OF CASCADE VISIBLE:
     makeCardsVisibleInCascadesToGame();
+    buildMoveIndex();
+    hashTable();
 
     // starts the game
     this.gameStarted = true;
 
   }
 
+  @Override
+  public void startGame(long dealSeed, int numPiles, int numDraw)
+      throws IllegalArgumentException, IllegalStateException {
+
+    // STEP 1: validate the game and deal it from the deal number:
+    validateGameSettings(numDraw);
+    setUpTable(DealGenerator.deal(dealSeed), Suit.values().length, CardImpl.NUM_VALUES,
+        numPiles);
+
+    // STEP 2: MAKE ALL BOTTOM CARDS OF CASCADE VISIBLE:
+    makeCardsVisibleInCascadesToGame();
+    buildMoveIndex();
+    hashTable();
+
+    // starts the game
+    this.gameStarted = true;
+  }
+
   /**
    * Makes the top card of each cascade pile visible.
    * <p>
@@ -175,10 +292,8 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
    * </p>
    */
   protected void makeCardsVisibleInCascadesToGame() {
-    for (List<Card> pile : this.cascadePiles) {
-      if (!pile.isEmpty()) {
-        pile.get(pile.size() - 1).makeVisible();
-      }
+    for (CascadePile pile : this.cascadePiles) {
+      pile.revealTop();
     }
   }
 
@@ -198,6 +313,41 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
       throw new IllegalArgumentException("deck is not valid in startGame");
     }
 
+    validateGameSettings(numDraw);
+
+    // should the deck be shuffled?
+    if (shuffle) {
+      Collections.shuffle(deck);
+    }
+
+    // the game only keeps the codes of the cards, not the cards themselves, and counts the
+    // aces and finds the highest value while encoding them so the deck is only walked once
+    int[] cards = new int[deck.size()];
+    int numAces = 0;
+    int maxValue = 0;
+    int index = 0;
+    for (Card card : deck) {
+      int code = CardImpl.toCode(card);
+      int value = CardImpl.value(code);
+      if (value == 1) {
+        numAces++;
+      }
+      maxValue = Math.max(maxValue, value);
+      cards[index++] = code;
+    }
+
+    setUpTable(cards, numAces, maxValue, numPiles);
+  }
+
+  /**
+   * Validates the number of draw cards and that the game has not been started, then records
+   * the number of draw cards.
+   *
+   * @param numDraw number of draw cards visible
+   * @throws IllegalArgumentException if the number of draw cards is not positive
+   * @throws IllegalStateException if the game has already started
+   */
+  private void validateGameSettings(int numDraw) {
     if (numDraw <= 0) {
       throw new IllegalArgumentException("draws has to be positive");
     }
@@ -209,147 +359,185 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     // assigns the field numberOfDrawCardsVisible to the number of cards visible in the game
     this.numberOfDrawCardsVisible = numDraw;
+  }
 
-    // should the deck be shuffled?
-    if (shuffle) {
-      Collections.shuffle(deck);
-    }
-
-    this.deck = new ArrayList<>(deck);
-
+  /**
+   * Sets up the foundation, cascade and draw piles by dealing the given cards in order.
+   *
+   * @param cards the codes of the cards to deal, in order
+   * @param numAces the number of aces among the cards
+   * @param maxValue the highest value among the cards
+   * @param numPiles number of cascade piles
+   * @throws IllegalArgumentException if the cards cannot fill the given number of piles
+   */
+  private void setUpTable(int[] cards, int numAces, int maxValue, int numPiles) {
     // STEP 2: ADDING THE FOUNDATION PILES BASED ON THE NUMBER OF ACES IN THE DECK
-    for (Card c : this.deck) {
-      if (c.getValue() == 1) {
-        this.foundationPiles.add(new ArrayList<>());
-      }
-    }
+    this.foundationPiles = new int[numAces];
+    Arrays.fill(this.foundationPiles, EMPTY_FOUNDATION);
+    this.score = 0;
+    // every foundation pile ends with the highest value of its suit
+    this.maxScore = numAces * maxValue;
 
     // 3A: CHECK IF THERE IS A CORRECT AMOUNT OF CASCADE PILES:
-    int pilesToCards = 0;
-    for (int i = 1; i <= numPiles; i++) {
-      pilesToCards += i;
-    }
-    if (pilesToCards > this.deck.size() || (numPiles <= 0)) {
+    if ((numPiles <= 0) || numCardsToDeal(numPiles) > cards.length) {
       throw new IllegalArgumentException("there are too many piles for the number cards in deck");
     }
 
-    // 3b: ADD THE PROPER AMOUNT OF CASCADE PILES
+    // 3b: ADD THE PROPER AMOUNT OF CASCADE PILES, EACH SIZED FOR ITS DEAL AND A FULL RUN
+    this.cascadePiles = new CascadePile[numPiles];
     for (int i = 0; i < numPiles; i++) {
-      cascadePiles.add(new ArrayList<>());
+      this.cascadePiles[i] = createCascadePile(i + 1 + CardImpl.NUM_VALUES);
     }
 
     // 3: DEAL THE CARDS TO THE CASCADE PILES:
-    dealCardsToCascadePiles();
+    int numDealt = dealCardsToCascadePiles(cards);
 
-    this.makeTopCardsOfDeckVisible(numDraw);
+    // STEP 4: THE CARDS THAT ARE LEFT MAKE UP THE DRAW PILE
+    this.deck = new DrawPile(cards, numDealt, cards.length);
 
+    // the new game has no moves to undo
+    this.journal = new MoveJournal();
   }
 
   /**
-   * Deals cards from the deck to the cascade piles.
+   * Returns the number of cards dealt to the given number of cascade piles, where the
+   * n-th pile receives n cards.
    *
-   * <p>Starts by dealing to the last cascade pile and moves upwards, with each cascade
-   * pile receiving one card more than the previous pile. If the deck runs out before
-   * completing the deal, an exception is thrown. <\p>
+   * @param numPiles the number of cascade piles
+   * @return the total number of cards in the cascade piles after dealing
+   */
+  private static long numCardsToDeal(int numPiles) {
+    return (long) numPiles * (numPiles + 1) / 2;
+  }
+
+  /**
+   * Creates an empty cascade pile for this variant of the game.
    *
-   * @throws IllegalArgumentException if there are insufficient cards in the deck
-   *                                  to populate the cascade piles.
+   * @param capacity the number of cards the pile can hold before growing
+   * @return the new cascade pile
    */
-  private void dealCardsToCascadePiles() {
-    int counter = 0;
-    for (int i = cascadePiles.size() - 1; i >= 0; i--) {
-      for (int j = 0; j <= i; j++) {
-        if (this.deck.isEmpty()) {
-          throw new IllegalArgumentException("the deck is empty and cannot be delt");
-        }
-        cascadePiles.get(j + counter).add(this.deck.remove(0));
-      }
-      counter++;
-    }
+  protected CascadePile createCascadePile(int capacity) {
+    return new CascadePile(capacity, this::continuesRun);
   }
 
+  /**
+   * Determines if a card continues the run of the card below it, so that the two can be moved
+   * together. In a basic game it has the other color than the card below it and is one lower.
+   *
+   * @param lower the code of the card below
+   * @param upper the code of the card on top of it
+   * @return true if the two cards can be moved together, false otherwise
+   */
+  protected boolean continuesRun(int lower, int upper) {
+    return CardImpl.isRed(lower) != CardImpl.isRed(upper) && isOneApart(lower, upper);
+  }
 
   /**
-   * Helper method to make the top cards of the deck visible.
+   * Deals cards from the deck to the cascade piles.
    *
-   * @param numDraw number of cards to be made visible
+   * <p>Starts by dealing to the last cascade pile and moves upwards, with each cascade
+   * pile receiving one card more than the previous pile. The deck must already be known to
+   * have enough cards for the deal (see {@link #numCardsToDeal(int)}). <\p>
+   *
+   * @param cards the codes of the cards to deal, in order
+   * @return the number of cards that were dealt
    */
-  private void makeTopCardsOfDeckVisible(int numDraw) {
-    for (int i = 0; (i < numDraw); i++) {
-      if (i < this.deck.size()) {
-        this.deck.get(i).makeVisible();
+  private int dealCardsToCascadePiles(int[] cards) {
+    int numDealt = 0;
+    int counter = 0;
+    for (int i = cascadePiles.length - 1; i >= 0; i--) {
+      for (int j = 0; j <= i; j++) {
+        cascadePiles[j + counter].addFaceDown(cards[numDealt++]);
       }
+      counter++;
     }
+    return numDealt;
   }
 
 
   @Override
   public void movePile(int srcPile, int numCards, int destPile)
       throws IllegalStateException, IllegalArgumentException {
+    tryMovePile(srcPile, numCards, destPile).throwIfFailed();
+  }
+
+  @Override
+  public MoveResult tryMovePile(int srcPile, int numCards, int destPile) {
     // check if the game has started:
-    checkGameStarted();
+    if (!this.gameStarted) {
+      return MoveResult.GAME_NOT_STARTED;
+    }
 
-    List<Card> sourcePile = validatePiles(srcPile, destPile);
+    MoveResult validPiles = validatePiles(srcPile, destPile);
+    if (!validPiles.isSuccess()) {
+      return validPiles;
+    }
 
-    List<Card> destinationPile = this.cascadePiles.get(destPile);
+    CascadePile sourcePile = this.cascadePiles[srcPile];
+    CascadePile destinationPile = this.cascadePiles[destPile];
 
-    List<Card> cardsBeingMoved = getCardsBeingMovedAndValidate(numCards, sourcePile);
+    if (!isValidNumCardsBeingMoved(numCards, sourcePile)) {
+      return MoveResult.INVALID_CARDS;
+    }
 
     // STEP 3: CHECKS THAT ALL THE CARDS BEING MOVED ARE VISIBLE:
-    for (Card c : cardsBeingMoved) {
-      if (!c.isCardVisible()) {
-        throw new IllegalArgumentException("card being moved is not visible");
-      }
+    if (sourcePile.size() - numCards < sourcePile.firstFaceUp()) {
+      return MoveResult.INVALID_CARDS;
     }
 
     // checks if the move is possible according to the rules of the game
-    if (!canMoveCardsToCascadePile(cardsBeingMoved, destinationPile)) {
-      throw new IllegalStateException("this move movePile move is not permitted due to game rules");
+    if (!canMoveCardsToCascadePile(sourcePile, numCards, destinationPile)) {
+      return MoveResult.NOT_ALLOWED;
     }
 
+    int srcFrom = sourcePile.size() - numCards;
+    int destFrom = destinationPile.size();
+    updatePileIndex(srcPile, -1);
+    updatePileIndex(destPile, -1);
+    togglePileHash(srcPile, srcFrom);
+    togglePileHash(destPile, destFrom);
+
     // moves the cards from pile to pile:
-    moveCards(srcPile, destPile, cardsBeingMoved);
+    moveCards(sourcePile, numCards, destinationPile);
 
     // makes the last leftover card from the source pile visible
-    if (!sourcePile.isEmpty() && !sourcePile.get(sourcePile.size() - 1).isCardVisible()) {
-      sourcePile.get(sourcePile.size() - 1).makeVisible();
-    }
+    boolean flipped = isTopFaceDown(sourcePile);
+    sourcePile.revealTop();
 
+    updatePileIndex(srcPile, 1);
+    updatePileIndex(destPile, 1);
+    togglePileHash(srcPile, srcFrom);
+    togglePileHash(destPile, destFrom);
+    this.journal.record(MoveJournal.entry(
+        MoveBuffer.encode(MoveBuffer.PILE_TO_PILE, srcPile, numCards, destPile), flipped));
 
+    return MoveResult.SUCCESS;
   }
 
   /**
-   * Moves a specified list of cards from one cascade pile to another.
+   * Moves the top cards of one cascade pile onto another, keeping their order. The cards
+   * being moved are all face-up, and stay face-up. Every variant of the game moves cards
+   * between cascade piles through this method.
    *
-   * @param srcPile          the index of the source cascade pile.
-   * @param destPile         the index of the destination cascade pile.
-   * @param cardsBeingMoved  the list of cards that are to be moved from the source
-   *                         pile to the destination pile.
+   * @param sourcePile       the source cascade pile.
+   * @param numCards         the number of cards to move from the top of the source pile.
+   * @param destinationPile  the destination cascade pile.
    */
-  private void moveCards(int srcPile, int destPile, List<Card> cardsBeingMoved) {
-    this.cascadePiles.get(destPile).addAll(cardsBeingMoved);
-    this.cascadePiles.get(srcPile).removeAll(cardsBeingMoved);
+  protected void moveCards(CascadePile sourcePile, int numCards,
+      CascadePile destinationPile) {
+    sourcePile.moveTopTo(numCards, destinationPile);
   }
 
   /**
-   * Validates the move pile operation and retrieves the cards to be moved.
+   * Validates the number of cards being moved by the move pile operation.
    *
    * @param numCards number of cards to move
    * @param sourcePile source pile of cards
-   * @return a list of cards to be moved
-   * @throws IllegalArgumentException if the move is invalid
+   * @return true if the source pile has that many cards, false otherwise
    */
-  private static List<Card> getCardsBeingMovedAndValidate(int numCards, List<Card> sourcePile) {
+  private static boolean isValidNumCardsBeingMoved(int numCards, CascadePile sourcePile) {
     // 2a: CHECKS THAT NUM OF CARDS BEING MOVED IS POSSIBLE:
-    if (sourcePile.size() < numCards || numCards <= 0) {
-      throw new IllegalArgumentException("Invalid number of cards being moved");
-    }
-
-    // create a list of the cards being moved
-    List<Card> cardsBeingMoved =
-        sourcePile.subList(sourcePile.size() - numCards, sourcePile.size());
-
-    return cardsBeingMoved;
+    return sourcePile.size() >= numCards && numCards > 0;
   }
 
 
@@ -358,22 +546,19 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
    *
    * @param srcPile source pile index
    * @param destPile destination pile index
-   * @return the source pile of cards
-   * @throws IllegalArgumentException if the source or destination pile is invalid
+   * @return {@link MoveResult#SUCCESS} if both piles are valid, or why they are not
    */
-  private List<Card> validatePiles(int srcPile, int destPile) {
+  private MoveResult validatePiles(int srcPile, int destPile) {
     // STEP 2: VERIFY THE VARIABLES:
-    if ((srcPile < 0) || (srcPile >= cascadePiles.size())
-        || (destPile < 0) || (destPile >= cascadePiles.size()) || (srcPile == destPile)) {
-      throw new IllegalArgumentException("variables are not possible");
+    if ((srcPile < 0) || (srcPile >= cascadePiles.length)
+        || (destPile < 0) || (destPile >= cascadePiles.length) || (srcPile == destPile)) {
+      return MoveResult.INVALID_PILE;
     }
 
-    List<Card> sourcePile = this.cascadePiles.get(srcPile);
-
-    if (sourcePile.isEmpty()) {
-      throw new IllegalArgumentException("source pile is empty");
+    if (this.cascadePiles[srcPile].isEmpty()) {
+      return MoveResult.INVALID_CARDS;
     }
-    return sourcePile;
+    return MoveResult.SUCCESS;
   }
 
   /**
@@ -390,68 +575,107 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
 
   /**
-   * Determines if the cards can be moved to a destination pile.
+   * Determines if the top cards of a source pile can be moved to a destination pile: they
+   * must be part of the run at the top of the source pile, and the lowest of them must be
+   * allowed on the destination pile.
+   * This only reads the piles, so it is safe to call from any number of readers.
    *
-   * @param cards    the list of cards to be moved
+   * @param srcPile  the pile the cards are moved from
+   * @param numCards the number of cards moved from the top of the source pile
    * @param destPile the destination pile
    * @return true if the cards can be moved, false otherwise
    */
-  protected boolean canMoveCardsToCascadePile(List<Card> cards, List<Card> destPile) {
-    if (cards == null || cards.isEmpty()) {
+  protected boolean canMoveCardsToCascadePile(CascadePile srcPile, int numCards,
+      CascadePile destPile) {
+    if (numCards <= 0 || numCards > srcPile.size() - movableRunStart(srcPile)) {
       return false;
     }
 
-    // if the destination pile is empty, it makes sure that the bottom card of the list of cards
-    // is a king to adhere to game rules
+    return canPlaceOnCascadePile(srcPile.get(srcPile.size() - numCards), destPile);
+  }
+
+  /**
+   * Determines if a card can be placed on top of a destination pile, as the bottom card of
+   * the cards being moved there. Variants change these rules through
+   * {@link #canPlaceOnEmptyPile(int)} and {@link #neededKey(int)}, which the end of game
+   * detection also relies on.
+   *
+   * @param bottomCardOfCardsMoved the code of the card being placed
+   * @param destPile               the destination pile
+   * @return true if the card can be placed on the pile, false otherwise
+   */
+  protected boolean canPlaceOnCascadePile(int bottomCardOfCardsMoved, CascadePile destPile) {
     if (destPile.isEmpty()) {
-      return cards.get(0).getValue() == 13;
+      return canPlaceOnEmptyPile(bottomCardOfCardsMoved);
     }
 
-    // get the top card of the cascade pile:
-    Card topCardOfDestinationPile = destPile.get(destPile.size() - 1);
-    // make visible just in case
-    topCardOfDestinationPile.makeVisible();
-    // get the bottom card of the cards being moved
-    Card bottomCardOfCardsMoved = cards.get(0);
-    bottomCardOfCardsMoved.makeVisible();
-
-    boolean diffColors = trueIfDifferentColor(topCardOfDestinationPile, bottomCardOfCardsMoved);
-    boolean oneApart = isOneApart(topCardOfDestinationPile, bottomCardOfCardsMoved);
+    // the card must be the one the top card of the cascade pile needs:
+    return placementKey(bottomCardOfCardsMoved) == neededKey(destPile.top());
+  }
 
-    return diffColors && oneApart;
+  /**
+   * Determines if a card can be placed on an empty cascade pile, as the bottom card of the
+   * cards being moved there. In a basic game only a king can.
+   *
+   * @param bottomCardOfCardsMoved the code of the card being placed
+   * @return true if the card can be placed on an empty pile, false otherwise
+   */
+  protected boolean canPlaceOnEmptyPile(int bottomCardOfCardsMoved) {
+    return CardImpl.value(bottomCardOfCardsMoved) == 13;
   }
 
+  /**
+   * Returns the placement key of the card that can be placed on the given top card of a
+   * cascade pile. In a basic game that is the card one below it of the other color.
+   *
+   * @param topCardOfDestinationPile the code of the top card of the destination pile
+   * @return the placement key of the needed card, or -1 if no card can be placed on it
+   */
+  protected int neededKey(int topCardOfDestinationPile) {
+    int value = CardImpl.value(topCardOfDestinationPile);
+    if (value == 1) {
+      return -1;
+    }
+    return placementKey(value - 1, !CardImpl.isRed(topCardOfDestinationPile));
+  }
 
   /**
-   * Determines if two cards are one apart in value.
+   * Returns the placement key of a card, which is all that the cascade rules look at when
+   * placing it on a non-empty pile: its value and its color.
    *
-   * @param topCardOfDestinationPile the top card of the destination pile
-   * @param bottomCardOfCardsMoved the bottom card of the cards being moved
-   * @return true if the cards are one apart, false otherwise
+   * @param code the code of the card
+   * @return the placement key, between 0 and 25 inclusive
    */
-  protected static boolean isOneApart(Card topCardOfDestinationPile, Card bottomCardOfCardsMoved) {
-    // determines if the cards are one apart
-    boolean oneApart = topCardOfDestinationPile.getValue()
-        == (bottomCardOfCardsMoved.getValue() + 1);
-    return oneApart;
+  protected static int placementKey(int code) {
+    return placementKey(CardImpl.value(code), CardImpl.isRed(code));
   }
 
   /**
-   * Determines if two cards are of different colors.
+   * Returns the placement key of a card of the given value and color.
    *
-   * @param topCardOfDestinationPile the top card of the destination pile
-   * @param bottomCardOfCardsMoved the bottom card of the cards being moved
-   * @return true if the cards are of different colors, false otherwise
+   * @param value the value of the card, between 1 and 13 inclusive
+   * @param red whether the card is red
+   * @return the placement key, between 0 and 25 inclusive
    */
-  protected static boolean trueIfDifferentColor(Card topCardOfDestinationPile,
-      Card bottomCardOfCardsMoved) {
-    // determines if the cards are a different color
-    boolean diffColors = (topCardOfDestinationPile.isRed() && !bottomCardOfCardsMoved.isRed())
-        || (!topCardOfDestinationPile.isRed() && bottomCardOfCardsMoved.isRed());
-    return diffColors;
+  protected static int placementKey(int value, boolean red) {
+    return (value - 1) * 2 + (red ? 1 : 0);
   }
 
 
+  /**
+   * Determines if two cards are one apart in value.
+   *
+   * @param topCardOfDestinationPile the code of the top card of the destination pile
+   * @param bottomCardOfCardsMoved the code of the bottom card of the cards being moved
+   * @return true if the cards are one apart, false otherwise
+   */
+  protected static boolean isOneApart(int topCardOfDestinationPile, int bottomCardOfCardsMoved) {
+    // determines if the cards are one apart
+    boolean oneApart = CardImpl.value(topCardOfDestinationPile)
+        == (CardImpl.value(bottomCardOfCardsMoved) + 1);
+    return oneApart;
+  }
+
   /**
    * Moves the topmost draw-card to the destination pile.  If no draw cards remain, reveal the next
    * available draw cards
@@ -463,75 +687,76 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
    */
   @Override
   public void moveDraw(int destPile) throws IllegalStateException, IllegalStateException {
+    tryMoveDraw(destPile).throwIfFailed();
+  }
 
-    Card drawCard = drawCardAndValidateMoveDraw(destPile);
-
-    // STEP 2: IF THE CARD IS VISIBLE IN THE DECK, DETERMINE IF IT CAN BE MOVED TO THE CASCADE PILE
-    //         AND MOVE IT THERE
-    if (drawCard.isCardVisible()) {
-      List<Card> loc = new ArrayList<>();
-      loc.add(drawCard);
-      if (canMoveCardsToCascadePile(loc, this.cascadePiles.get(destPile))) {
-        Card cardToAddToCascade = this.deck.remove(0);
-        // add the card from the deck that was removed from the draw pile;
-        this.cascadePiles.get(destPile).add(cardToAddToCascade);
-      } else {
-        throw new IllegalStateException("moving this draw card to the pile is not allowable");
-      }
+  @Override
+  public MoveResult tryMoveDraw(int destPile) {
+
+    MoveResult validMoveDraw = validateMoveDraw(destPile);
+    if (!validMoveDraw.isSuccess()) {
+      return validMoveDraw;
     }
 
-    // STEP 3: MAKE THE REMAINING DRAW CARDS VISIBLE
-    this.makeTopCardsOfDeckVisible(this.numberOfDrawCardsVisible);
+    // STEP 1: THE FRONT OF THE DRAW PILE IS ALWAYS ONE OF THE VISIBLE DRAW CARDS
+    int drawCard = this.deck.get(0);
 
+    // STEP 2: DETERMINE IF THE DRAW CARD CAN BE MOVED TO THE CASCADE PILE AND MOVE IT THERE
+    if (!canPlaceOnCascadePile(drawCard, this.cascadePiles[destPile])) {
+      return MoveResult.NOT_ALLOWED;
+    }
+    int destFrom = this.cascadePiles[destPile].size();
+    updatePileIndex(destPile, -1);
+    togglePileHash(destPile, destFrom);
+    int cardToAddToCascade = this.deck.popFront();
+    // the draw card is face-up once it is on the cascade pile
+    this.cascadePiles[destPile].add(cardToAddToCascade);
+    updatePileIndex(destPile, 1);
+    togglePileHash(destPile, destFrom);
+    this.journal.record(MoveJournal.entry(
+        MoveBuffer.encode(MoveBuffer.DRAW_TO_PILE, 0, 1, destPile), false));
+
+    return MoveResult.SUCCESS;
   }
 
   /**
-   * Validates the move draw operation and retrieves the draw card.
+   * Validates the move draw operation.
    *
    * @param destPile destination pile index
-   * @return the draw card to be moved
-   * @throws IllegalStateException if the move is not valid
+   * @return {@link MoveResult#SUCCESS} if there is a draw card and the pile is valid, or why not
    */
-  private Card drawCardAndValidateMoveDraw(int destPile) {
+  private MoveResult validateMoveDraw(int destPile) {
     // check if the game has started:
-    checkGameStarted();
+    if (!this.gameStarted) {
+      return MoveResult.GAME_NOT_STARTED;
+    }
 
     if (this.deck.isEmpty()) {
-      throw new IllegalStateException("draw pile is empty");
-    }
-    if (destPile < 0 || destPile >= cascadePiles.size()) {
-      throw new IllegalArgumentException("Destination pile number is invalid.");
+      return MoveResult.NO_CARDS;
     }
-
-    // STEP 1: IF THE CARD IS NOT VISIBLE, MAKE IT VISIBLE
-    if (!this.deck.get(0).isCardVisible()) {
-      this.makeTopCardsOfDeckVisible(this.numberOfDrawCardsVisible);
+    if (destPile < 0 || destPile >= cascadePiles.length) {
+      return MoveResult.INVALID_PILE;
     }
-
-    return this.deck.get(0);
-
+    return MoveResult.SUCCESS;
   }
 
 
   /**
-   * Determines if a card can be moved to a foundation pile.
+   * Determines if a card can be moved to a foundation pile. The card is assumed to be
+   * face-up, which always holds for the top card of a cascade pile and the front draw card.
    *
-   * @param cardToMove     the card to be moved
-   * @param foundationPile the destination foundation pile
+   * @param cardToMove     the code of the card to be moved
+   * @param foundationPile the index of the destination foundation pile
    * @return true if the card can be moved, false otherwise
    */
-  boolean canMoveCardToFoundation(Card cardToMove, List<Card> foundationPile) {
-    if (foundationPile.isEmpty()) {
-      return cardToMove.getValue() == 1;
-    }
-    // safety net
-    if (!cardToMove.isCardVisible()) {
-      return false;
+  boolean canMoveCardToFoundation(int cardToMove, int foundationPile) {
+    int topCard = this.foundationPiles[foundationPile];
+    if (topCard == EMPTY_FOUNDATION) {
+      return CardImpl.value(cardToMove) == 1;
     }
 
-    Card topCard = foundationPile.get(foundationPile.size() - 1);
-    return (cardToMove.getSuit() == topCard.getSuit())
-        && (cardToMove.getValue() == topCard.getValue() + 1);
+    return (CardImpl.suit(cardToMove) == CardImpl.suit(topCard))
+        && (CardImpl.value(cardToMove) == CardImpl.value(topCard) + 1);
   }
 
 
@@ -547,34 +772,57 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
    */
   @Override
   public void moveToFoundation(int srcPile, int foundationPile) throws IllegalStateException {
+    tryMoveToFoundation(srcPile, foundationPile).throwIfFailed();
+  }
+
+  @Override
+  public MoveResult tryMoveToFoundation(int srcPile, int foundationPile) {
     // check if the game has started:
-    checkGameStarted();
+    if (!this.gameStarted) {
+      return MoveResult.GAME_NOT_STARTED;
+    }
 
-    // Assume foundationPiles are initialized to empty lists
-    if (foundationPile < 0 || foundationPile >= this.foundationPiles.size()) {
-      throw new IllegalArgumentException("Invalid foundation pile number.");
+    if (foundationPile < 0 || foundationPile >= this.foundationPiles.length) {
+      return MoveResult.INVALID_PILE;
     }
 
-    if (srcPile < 0 || srcPile >= this.cascadePiles.size()) {
-      throw new IllegalArgumentException("Invalid src pile number.");
+    if (srcPile < 0 || srcPile >= this.cascadePiles.length) {
+      return MoveResult.INVALID_PILE;
     }
 
-    List<Card> sourceCascadePile = cascadePiles.get(srcPile);
+    CascadePile sourceCascadePile = cascadePiles[srcPile];
     if (sourceCascadePile.isEmpty()) {
-      throw new IllegalStateException("Source pile is empty.");
+      return MoveResult.NO_CARDS;
     }
 
-    Card cardBeingMoved = sourceCascadePile.get(sourceCascadePile.size() - 1);
+    int cardBeingMoved = sourceCascadePile.top();
 
-    if (!canMoveCardToFoundation(cardBeingMoved, this.foundationPiles.get(foundationPile))) {
-      throw new IllegalStateException("moving this cascade cart to foundation is not allowed");
+    if (!canMoveCardToFoundation(cardBeingMoved, foundationPile)) {
+      return MoveResult.NOT_ALLOWED;
     }
 
-    Card cardToAdd = sourceCascadePile.remove(sourceCascadePile.size() - 1);
-    this.foundationPiles.get(foundationPile).add(cardToAdd);
+    int srcFrom = sourceCascadePile.size() - 1;
+    updatePileIndex(srcPile, -1);
+    updateFoundationIndex(foundationPile, -1);
+    toggleFoundationHash(foundationPile);
+    togglePileHash(srcPile, srcFrom);
 
-    makeCardsVisibleInCascadesToGame();
+    this.foundationPiles[foundationPile] = sourceCascadePile.removeTop();
+    // every card moved to a foundation is one higher than the card it covers
+    this.score++;
 
+    // makes the card under the moved card visible
+    boolean flipped = isTopFaceDown(sourceCascadePile);
+    sourceCascadePile.revealTop();
+
+    updatePileIndex(srcPile, 1);
+    updateFoundationIndex(foundationPile, 1);
+    toggleFoundationHash(foundationPile);
+    togglePileHash(srcPile, srcFrom);
+    this.journal.record(MoveJournal.entry(
+        MoveBuffer.encode(MoveBuffer.PILE_TO_FOUNDATION, srcPile, 1, foundationPile), flipped));
+
+    return MoveResult.SUCCESS;
   }
 
 
@@ -590,31 +838,42 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
   @Override
   public void moveDrawToFoundation(int foundationPile)
       throws IllegalStateException, IllegalArgumentException {
+    tryMoveDrawToFoundation(foundationPile).throwIfFailed();
+  }
+
+  @Override
+  public MoveResult tryMoveDrawToFoundation(int foundationPile) {
 
     // check if the game has started
-    checkGameStarted();
+    if (!this.gameStarted) {
+      return MoveResult.GAME_NOT_STARTED;
+    }
 
-    if (foundationPile < 0 || foundationPile >= foundationPiles.size()) {
-      throw new IllegalArgumentException("Invalid foundation pile number.");
+    if (foundationPile < 0 || foundationPile >= foundationPiles.length) {
+      return MoveResult.INVALID_PILE;
     }
 
     if (this.deck.isEmpty()) {
-      throw new IllegalStateException("no more cards in draw pile");
+      return MoveResult.NO_CARDS;
     }
 
-    Card cardToMove = this.deck.get(0);
-    List<Card> destFoundationPile = foundationPiles.get(foundationPile);
+    int cardToMove = this.deck.get(0);
 
     // determines if the card can be moved to the foundation according to game rules
-    if (!canMoveCardToFoundation(cardToMove, destFoundationPile)) {
-      throw new IllegalStateException("Move is not allowable.");
+    if (!canMoveCardToFoundation(cardToMove, foundationPile)) {
+      return MoveResult.NOT_ALLOWED;
     }
 
-    Card cardRemoved = this.deck.remove(0);
-    this.foundationPiles.get(foundationPile).add(cardRemoved);
-
-    this.makeTopCardsOfDeckVisible(this.numberOfDrawCardsVisible);
+    updateFoundationIndex(foundationPile, -1);
+    toggleFoundationHash(foundationPile);
+    this.foundationPiles[foundationPile] = this.deck.popFront();
+    this.score++;
+    updateFoundationIndex(foundationPile, 1);
+    toggleFoundationHash(foundationPile);
+    this.journal.record(MoveJournal.entry(
+        MoveBuffer.encode(MoveBuffer.DRAW_TO_FOUNDATION, 0, 1, foundationPile), false));
 
+    return MoveResult.SUCCESS;
   }
 
 
@@ -626,48 +885,299 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
    */
   @Override
   public void discardDraw() throws IllegalStateException {
-    validateDiscardDraw();
+    tryDiscardDraw().throwIfFailed();
+  }
+
+  @Override
+  public MoveResult tryDiscardDraw() {
+    MoveResult validDiscard = validateDiscardDraw();
+    if (!validDiscard.isSuccess()) {
+      return validDiscard;
+    }
 
-    discardTheDrawCard(true);
+    DrawDiscard discard = discardRule(drawPass(), numDiscardedThisPass(), this.deck.size());
+    discardTheDrawCard(discard.recycles());
+    return MoveResult.SUCCESS;
   }
 
 
   /**
    * Discards the top card of the draw pile. If {@code addToBackOfDeck} is true,
    * the discarded card is added to the back of the deck; otherwise, it's removed from the deck.
-   * After discarding, the method ensures that the top {@code numberOfDrawCardsVisible} cards
-   * of the deck are made visible.
+   * Either way the next {@code numberOfDrawCardsVisible} cards of the deck become the visible
+   * draw cards, since they are read from the draw pile's cursor.
    *
    * @param addToBackOfDeck If true, the discarded card is added to the back of the deck.
    */
   protected void discardTheDrawCard(boolean addToBackOfDeck) {
-    // move the top card of the draw pile to the bottom
-    Card topCard = this.deck.remove(0);
-    topCard.hideCard();
+    discardTheDrawCard(addToBackOfDeck, false);
+  }
+
+  /**
+   * Discards the top card of the draw pile as {@link #discardTheDrawCard(boolean)} does, and
+   * records whether the discard ends a pass through the draw pile so that undoing it can
+   * restore the pass (see {@link #undoDrawPass(boolean)}).
+   *
+   * @param addToBackOfDeck If true, the discarded card is added to the back of the deck.
+   * @param endsPass        whether the discard ends a pass through the draw pile
+   */
+  protected void discardTheDrawCard(boolean addToBackOfDeck, boolean endsPass) {
     // adds the card to the back of the deck if addToBackOfDeck is true
     if (addToBackOfDeck) {
-      this.deck.add(topCard);
+      this.deck.recycleFront();
+      this.journal.record(MoveJournal.discardEntry(-1, endsPass));
+    } else {
+      int removedCard = this.deck.popFront();
+      this.journal.record(MoveJournal.discardEntry(removedCard, endsPass));
     }
-
-    // makes the numberOfDrawCardsVisible visible in the deck
-    this.makeTopCardsOfDeckVisible(this.numberOfDrawCardsVisible);
   }
 
   /**
    * Validates the discard draw operation.
    * This method checks if the game has started and if there are cards left in the draw pile.
    *
-   * @throws IllegalStateException if the game hasn't been started or if the draw pile is empty.
+   * @return {@link MoveResult#SUCCESS} if the top draw card can be discarded, or why it cannot
    */
-  protected void validateDiscardDraw() {
+  protected MoveResult validateDiscardDraw() {
     // check if the game has started:
-    checkGameStarted();
+    if (!this.gameStarted) {
+      return MoveResult.GAME_NOT_STARTED;
+    }
 
     if (this.deck.isEmpty()) {
-      throw new IllegalStateException("No cards left in the deck.");
+      return MoveResult.NO_CARDS;
+    }
+    return MoveResult.SUCCESS;
+  }
+
+
+  @Override
+  public boolean canUndo() throws IllegalStateException {
+    checkGameStarted();
+    return this.journal.canUndo();
+  }
+
+  @Override
+  public boolean canRedo() throws IllegalStateException {
+    checkGameStarted();
+    return this.journal.canRedo();
+  }
+
+  @Override
+  public void undo() throws IllegalStateException {
+    checkGameStarted();
+    if (!this.journal.canUndo()) {
+      throw new IllegalStateException("there is no move to undo");
+    }
+
+    long entry = this.journal.undo();
+    int move = MoveJournal.move(entry);
+    int srcPile = MoveBuffer.source(move);
+    int destPile = MoveBuffer.destination(move);
+    switch (MoveBuffer.type(move)) {
+      case MoveBuffer.PILE_TO_PILE:
+        int srcFrom = this.cascadePiles[srcPile].size();
+        int destFrom = this.cascadePiles[destPile].size() - MoveBuffer.numCards(move);
+        updatePileIndex(srcPile, -1);
+        updatePileIndex(destPile, -1);
+        togglePileHash(srcPile, srcFrom);
+        togglePileHash(destPile, destFrom);
+        moveCards(this.cascadePiles[destPile], MoveBuffer.numCards(move),
+            this.cascadePiles[srcPile]);
+        if (MoveJournal.flipped(entry)) {
+          this.cascadePiles[srcPile].hideFirstFaceUp();
+        }
+        updatePileIndex(srcPile, 1);
+        updatePileIndex(destPile, 1);
+        togglePileHash(srcPile, srcFrom);
+        togglePileHash(destPile, destFrom);
+        break;
+      case MoveBuffer.DRAW_TO_PILE:
+        destFrom = this.cascadePiles[destPile].size() - 1;
+        updatePileIndex(destPile, -1);
+        togglePileHash(destPile, destFrom);
+        this.deck.pushFront(this.cascadePiles[destPile].removeTop());
+        updatePileIndex(destPile, 1);
+        togglePileHash(destPile, destFrom);
+        break;
+      case MoveBuffer.PILE_TO_FOUNDATION:
+        srcFrom = this.cascadePiles[srcPile].size();
+        updatePileIndex(srcPile, -1);
+        togglePileHash(srcPile, srcFrom);
+        this.cascadePiles[srcPile].add(takeFromFoundation(destPile));
+        if (MoveJournal.flipped(entry)) {
+          this.cascadePiles[srcPile].hideFirstFaceUp();
+        }
+        updatePileIndex(srcPile, 1);
+        togglePileHash(srcPile, srcFrom);
+        break;
+      case MoveBuffer.DRAW_TO_FOUNDATION:
+        this.deck.pushFront(takeFromFoundation(destPile));
+        break;
+      default:
+        int removedCard = MoveJournal.removedCard(entry);
+        if (removedCard >= 0) {
+          this.deck.pushFront(removedCard);
+        } else {
+          this.deck.returnBackToFront();
+        }
+        undoDrawPass(MoveJournal.endedPass(entry));
+    }
+  }
+
+  @Override
+  public void redo() throws IllegalStateException {
+    checkGameStarted();
+    if (!this.journal.canRedo()) {
+      throw new IllegalStateException("there is no move to redo");
+    }
+
+    // the move was legal in this same state, so it is made and recorded the same way again
+    tryMove(MoveJournal.move(this.journal.nextRedo())).throwIfFailed();
+  }
+
+  @Override
+  public MoveResult tryMove(int move) {
+    switch (MoveBuffer.type(move)) {
+      case MoveBuffer.PILE_TO_PILE:
+        return tryMovePile(MoveBuffer.source(move), MoveBuffer.numCards(move),
+            MoveBuffer.destination(move));
+      case MoveBuffer.DRAW_TO_PILE:
+        return tryMoveDraw(MoveBuffer.destination(move));
+      case MoveBuffer.PILE_TO_FOUNDATION:
+        return tryMoveToFoundation(MoveBuffer.source(move), MoveBuffer.destination(move));
+      case MoveBuffer.DRAW_TO_FOUNDATION:
+        return tryMoveDrawToFoundation(MoveBuffer.destination(move));
+      default:
+        return tryDiscardDraw();
+    }
+  }
+
+  @Override
+  public int safeFoundationMove() throws IllegalStateException {
+    checkGameStarted();
+    for (int i = 0; i < this.cascadePiles.length; i++) {
+      if (!this.cascadePiles[i].isEmpty()) {
+        int card = this.cascadePiles[i].top();
+        int foundationPile = foundationPileFor(card);
+        if (foundationPile >= 0 && isSafeOnFoundation(card, this.foundationPiles)) {
+          return MoveBuffer.encode(MoveBuffer.PILE_TO_FOUNDATION, i, 1, foundationPile);
+        }
+      }
+    }
+    if (!this.deck.isEmpty()) {
+      int card = this.deck.get(0);
+      int foundationPile = foundationPileFor(card);
+      if (foundationPile >= 0 && isSafeOnFoundation(card, this.foundationPiles)) {
+        return MoveBuffer.encode(MoveBuffer.DRAW_TO_FOUNDATION, 0, 1, foundationPile);
+      }
     }
+    return -1;
   }
 
+  @Override
+  public int autoPlayToFoundations() throws IllegalStateException {
+    int numMoves = 0;
+    for (int move = safeFoundationMove(); move >= 0; move = safeFoundationMove()) {
+      tryMove(move).throwIfFailed();
+      numMoves++;
+    }
+    return numMoves;
+  }
+
+  /**
+   * Returns the foundation pile a card can be moved to.
+   *
+   * @param card the code of the card
+   * @return the 0-based index of the foundation pile, or -1 if there is none
+   */
+  private int foundationPileFor(int card) {
+    for (int i = 0; i < this.foundationPiles.length; i++) {
+      if (canMoveCardToFoundation(card, i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Determines if no card that could be built on the given card on a cascade pile is still off
+   * the given foundation piles, so that moving it to a foundation pile is safe. In a basic game
+   * cards are built down in alternating colors, so that holds for an ace, a two, or a card
+   * whose opposite-color cards one lower are on foundation piles. The foundation piles are
+   * passed in so that snapshots of a game can ask the same rule.
+   *
+   * @param card        the code of a card that can be moved to a foundation pile
+   * @param foundations the code of the top card of each foundation pile, or
+   *                    {@link #EMPTY_FOUNDATION}
+   * @return true if the card is safe to move, false otherwise
+   */
+  protected boolean isSafeOnFoundation(int card, int[] foundations) {
+    return CardImpl.value(card) <= 2 || foundationsReach(foundations, CardImpl.value(card) - 1,
+        !CardImpl.isRed(card));
+  }
+
+  /**
+   * Determines if every foundation pile of a color has reached a value. An empty foundation
+   * pile could still take the ace of a suit of either color, so it has not.
+   *
+   * @param foundations the code of the top card of each foundation pile, or
+   *                    {@link #EMPTY_FOUNDATION}
+   * @param value       the value the foundation piles must have reached
+   * @param red         whether to look at the red foundation piles rather than the black ones
+   * @return true if no foundation pile is empty and every one of the color has reached the
+   *         value, false otherwise
+   */
+  protected static boolean foundationsReach(int[] foundations, int value, boolean red) {
+    for (int topCard : foundations) {
+      if (topCard == EMPTY_FOUNDATION) {
+        return false;
+      }
+      if (CardImpl.isRed(topCard) == red && CardImpl.value(topCard) < value) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Takes the top card off a foundation pile, undoing a move to it.
+   *
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return the code of the card taken off
+   */
+  private int takeFromFoundation(int foundationPile) {
+    updateFoundationIndex(foundationPile, -1);
+    toggleFoundationHash(foundationPile);
+    int card = this.foundationPiles[foundationPile];
+    this.foundationPiles[foundationPile] =
+        CardImpl.value(card) == 1 ? EMPTY_FOUNDATION : card - 1;
+    this.score--;
+    updateFoundationIndex(foundationPile, 1);
+    toggleFoundationHash(foundationPile);
+    return card;
+  }
+
+  /**
+   * Determines if the top card of a cascade pile is face-down, so that revealing it turns a
+   * card face-up.
+   *
+   * @param pile the cascade pile
+   * @return true if the pile has cards and its top card is face-down, false otherwise
+   */
+  private static boolean isTopFaceDown(CascadePile pile) {
+    return !pile.isEmpty() && pile.firstFaceUp() == pile.size();
+  }
+
+  /**
+   * Restores the pass through the draw pile to what it was before a discard that is being
+   * undone. A basic game does not count its passes, so there is nothing to restore.
+   *
+   * @param endedPass whether the discard ended a pass through the draw pile
+   */
+  protected void undoDrawPass(boolean endedPass) {
+    // every pass of a basic game is the same
+  }
 
   /**
    * Returns the number of rows currently in the game.
@@ -682,7 +1192,7 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     // iterates through all the cascade piles to find the longest one
     int maxRows = 0;
-    for (List<Card> pile : this.cascadePiles) {
+    for (CascadePile pile : this.cascadePiles) {
       if (pile.size() > maxRows) {
         maxRows = pile.size();
       }
@@ -702,7 +1212,7 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     checkGameStarted();
 
-    return this.cascadePiles.size();
+    return this.cascadePiles.length;
   }
 
 
@@ -728,90 +1238,155 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
       return false;
     }
 
-    // Check if any moves are possible between cascade piles
-    if (checkPossibleCascadeCascade()) {
-      return false;  // Move is possible, so game is not over
+    // the game is over when no cards can move between cascade piles or onto a foundation
+    return !this.moveIndex.hasCascadeMove() && !this.moveIndex.hasFoundationMove();
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    checkGameStarted();
+    return this.tableHash ^ this.deck.hash()
+        ^ ZobristKeys.drawPass(drawPass(), numDiscardedThisPass());
+  }
+
+  /**
+   * Computes the Zobrist hash of every cascade and foundation pile, once the cards have been
+   * dealt and turned face-up. Every move then updates it with only the keys it changes.
+   */
+  private void hashTable() {
+    this.tableHash = 0;
+    for (int i = 0; i < this.cascadePiles.length; i++) {
+      togglePileHash(i, 0);
     }
+    for (int i = 0; i < this.foundationPiles.length; i++) {
+      toggleFoundationHash(i);
+    }
+  }
 
-    return !checkCascadeFoundation();
+  /**
+   * Adds the position of the first face-up card of a cascade pile, and the cards of the pile
+   * from the given position to its top, to the hash, or removes them. Calling this before and
+   * after a change to the top of a pile updates the hash for the change.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @param from    the position of the lowest card to add or remove
+   */
+  private void togglePileHash(int pileNum, int from) {
+    CascadePile pile = this.cascadePiles[pileNum];
+    long keys = ZobristKeys.boundary(pileNum, pile.firstFaceUp());
+    for (int i = from; i < pile.size(); i++) {
+      keys ^= ZobristKeys.cascade(pileNum, i, pile.get(i));
+    }
+    this.tableHash ^= keys;
+  }
+
+  /**
+   * Adds the top card of a foundation pile to the hash, or removes it.
+   *
+   * @param foundationPile the 0-based index of the foundation pile
+   */
+  private void toggleFoundationHash(int foundationPile) {
+    this.tableHash ^= ZobristKeys.foundation(foundationPile, this.foundationPiles[foundationPile]);
+  }
 
+  /**
+   * Rebuilds the move index from every cascade and foundation pile, once the cards have
+   * been dealt and turned face-up.
+   */
+  private void buildMoveIndex() {
+    this.moveIndex = new MoveIndex(this.cascadePiles.length);
+    for (int i = 0; i < this.cascadePiles.length; i++) {
+      updatePileIndex(i, 1);
+    }
+    for (int i = 0; i < this.foundationPiles.length; i++) {
+      updateFoundationIndex(i, 1);
+    }
   }
 
   /**
-   * Checks if a card from any of the cascade piles can be moved to a foundation pile.
-   * This method iterates through each cascade pile, and for the bottom-most card of each
-   * pile, it checks if it can be moved to any of the foundation piles based on the game rules.
+   * Adds a cascade pile to the move index, or removes it. A pile is removed before a move
+   * changes it and added back after, so only the piles a move touches are looked at.
    *
-   * @return true if a card from a cascade pile can be moved to a foundation pile; false otherwise.
+   * @param pileNum the 0-based index of the cascade pile
+   * @param delta 1 to add the pile, -1 to remove it
    */
-  private boolean checkCascadeFoundation() {
-    for (int i = 0; i < cascadePiles.size(); i++) {
-      if (!cascadePiles.get(i).isEmpty()) {
-        Card bottomCard = cascadePiles.get(i).get(cascadePiles.get(i).size() - 1);
-        for (int j = 0; j < foundationPiles.size(); j++) {
-          if (canMoveCardToFoundation(bottomCard, foundationPiles.get(j))) {
-            return true;
-          }
-        }
-      }
+  private void updatePileIndex(int pileNum, int delta) {
+    CascadePile pile = this.cascadePiles[pileNum];
+    if (pile.isEmpty()) {
+      this.moveIndex.updateEmptyPile(pileNum, delta);
+      return;
+    }
+
+    int topCard = pile.top();
+    this.moveIndex.updatePileTop(topCard, delta);
+    int needed = neededKey(topCard);
+    if (needed >= 0) {
+      this.moveIndex.updateNeededByPile(pileNum, needed, delta);
+    }
+
+    for (int cardIdx = movableRunStart(pile); cardIdx < pile.size(); cardIdx++) {
+      int card = pile.get(cardIdx);
+      this.moveIndex.updateMovableCard(placementKey(card), canPlaceOnEmptyPile(card), delta);
     }
-    return false;
   }
 
   /**
-   * Checks if a sequence of cards from one cascade pile can be moved to another cascade pile.
-   * This method iterates through each card of every cascade pile, and for each visible card and
-   * its subsequent sequence, it checks if the sequence can be moved to any other cascade pile
-   * based on the game rules. The method ensures that it doesn't check the move within the same
-   * cascade pile.
+   * Adds a foundation pile to the move index, or removes it.
    *
-   * @return true if a sequence from one cascade pile can be moved to another
-   *          cascade pile; false otherwise.
+   * @param foundationPile the 0-based index of the foundation pile
+   * @param delta 1 to add the pile, -1 to remove it
    */
-  protected boolean checkPossibleCascadeCascade() {
-    for (int i = 0; i < cascadePiles.size(); i++) {
-      List<Card> sourceCascadePile = cascadePiles.get(i);
-      for (int cardIdx = sourceCascadePile.size() - 1; cardIdx >= 0; cardIdx--) {
-        if (sourceCascadePile.get(cardIdx).isCardVisible()) {
-          List<Card> cardsToMove = sourceCascadePile.subList(cardIdx, sourceCascadePile.size());
-          for (int j = 0; j < cascadePiles.size(); j++) {
-            if (i != j && canMoveCardsToCascadePile(cardsToMove, cascadePiles.get(j))) {
-              return true;
-            }
-          }
-          break;
-        }
-      }
+  private void updateFoundationIndex(int foundationPile, int delta) {
+    int topCard = this.foundationPiles[foundationPile];
+    if (topCard == EMPTY_FOUNDATION) {
+      this.moveIndex.updateEmptyFoundation(delta);
+    } else if (CardImpl.value(topCard) < CardImpl.NUM_VALUES) {
+      // the next card of the same suit has the next code
+      this.moveIndex.updateNeededByFoundation(topCard + 1, delta);
     }
-    return false;
   }
 
 
   @Override
   public int getScore() throws IllegalStateException {
     checkGameStarted();
+    return this.score;
+  }
 
-    // adds the score of the topmost cards in the foundation piles
-    int score = 0;
-    for (int i = 0; i < this.foundationPiles.size(); i++) {
-      if (!this.foundationPiles.get(i).isEmpty()) {
-        Card c = this.getCardAt(i);
-        score += c.getValue();
-      }
-    }
+  @Override
+  public int getMaxScore() throws IllegalStateException {
+    checkGameStarted();
+    return this.maxScore;
+  }
 
-    return score;
+  @Override
+  public boolean isWon() throws IllegalStateException {
+    checkGameStarted();
+    // the game is won once every card of the game is on a foundation pile
+    return this.score == this.maxScore;
   }
 
   @Override
   public int getPileHeight(int pileNum) throws IllegalStateException, IllegalArgumentException {
     checkGameStarted();
 
-    if ((pileNum < 0) || (pileNum >= cascadePiles.size())) {
+    if ((pileNum < 0) || (pileNum >= cascadePiles.length)) {
       throw new IllegalArgumentException("pile num invalid");
     }
 
-    return cascadePiles.get(pileNum).size();
+    return cascadePiles[pileNum].size();
+  }
+
+  @Override
+  public int getRunLength(int pileNum) throws IllegalStateException, IllegalArgumentException {
+    checkGameStarted();
+
+    if ((pileNum < 0) || (pileNum >= cascadePiles.length)) {
+      throw new IllegalArgumentException("pile num invalid");
+    }
+
+    CascadePile pile = cascadePiles[pileNum];
+    return pile.size() - movableRunStart(pile);
   }
 
   @Override
@@ -820,18 +1395,18 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     checkGameStarted();
 
-    if ((pileNum < 0) || (pileNum >= cascadePiles.size())) {
+    if ((pileNum < 0) || (pileNum >= cascadePiles.length)) {
       throw new IllegalArgumentException("pile num invalid");
     }
 
-    if ((card < 0) || (card >= cascadePiles.get(pileNum).size())) {
+    if ((card < 0) || (card >= cascadePiles[pileNum].size())) {
       throw new IllegalArgumentException("card num not valid");
     }
-    if (this.cascadePiles.get(pileNum).isEmpty()) {
+    if (this.cascadePiles[pileNum].isEmpty()) {
       throw new IllegalArgumentException("this pile is empty");
     }
 
-    return cascadePiles.get(pileNum).get(card).isCardVisible();
+    return cascadePiles[pileNum].isFaceUp(card);
   }
 
   @Override
@@ -840,18 +1415,18 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     checkGameStarted();
 
-    if ((pileNum < 0) || (pileNum >= this.cascadePiles.size())) {
+    if ((pileNum < 0) || (pileNum >= this.cascadePiles.length)) {
       throw new IllegalArgumentException("pile num invalid");
     }
-    if (this.cascadePiles.get(pileNum).isEmpty()) {
+    if (this.cascadePiles[pileNum].isEmpty()) {
       return null;
     }
 
-    if ((card < 0) || (card >= cascadePiles.get(pileNum).size())) {
+    if ((card < 0) || (card >= cascadePiles[pileNum].size())) {
       throw new IllegalArgumentException("card num not valid");
     }
 
-    Card c = this.cascadePiles.get(pileNum).get(card);
+    Card c = CardImpl.fromCode(this.cascadePiles[pileNum].get(card));
 
     if (!this.isCardVisible(pileNum, card)) {
       throw new IllegalArgumentException("card is not visible");
@@ -867,16 +1442,15 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     checkGameStarted();
 
-    if ((foundationPile < 0) || (foundationPile >= this.foundationPiles.size())) {
+    if ((foundationPile < 0) || (foundationPile >= this.foundationPiles.length)) {
       throw new IllegalArgumentException("foundation pile index invalid");
     }
 
-    if (this.foundationPiles.get(foundationPile).isEmpty()) {
+    if (this.foundationPiles[foundationPile] == EMPTY_FOUNDATION) {
       return null;
     }
 
-    return this.foundationPiles.get(foundationPile).get(
-        this.foundationPiles.get(foundationPile).size() - 1);
+    return CardImpl.fromCode(this.foundationPiles[foundationPile]);
   }
 
 
@@ -895,12 +1469,10 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
 
     checkGameStarted();
 
-    // goes through the deck and adds the visible cards to a list of cards
+    // goes through the visible window of the deck and adds those cards to a list of cards
     List<Card> drawCards = new ArrayList<>();
-    if (!this.deck.isEmpty()) {
-      for (int i = 0; i < this.deck.size() && i < numberOfDrawCardsVisible; i++) {
-        drawCards.add(this.deck.get(i));
-      }
+    for (int i = 0; i < this.deck.numVisible(this.numberOfDrawCardsVisible); i++) {
+      drawCards.add(CardImpl.fromCode(this.deck.get(i)));
     }
     return drawCards;
   }
@@ -908,7 +1480,80 @@ public class BasicKlondike implements cs3500.klondike.model.hw02.KlondikeModel {
   @Override
   public int getNumFoundations() throws IllegalStateException {
     checkGameStarted();
-    return this.foundationPiles.size();
+    return this.foundationPiles.length;
+  }
+
+  @Override
+  public void legalMoves(MoveBuffer moves) throws IllegalArgumentException, IllegalStateException {
+    checkGameStarted();
+
+    if (moves == null) {
+      throw new IllegalArgumentException("move buffer cannot be null");
+    }
+    moves.clear();
+
+    // STEP 1: MOVES OF A CASCADE CARD OR THE DRAW CARD TO A FOUNDATION PILE
+    for (int i = 0; i < this.cascadePiles.length; i++) {
+      if (!this.cascadePiles[i].isEmpty()) {
+        int topCard = this.cascadePiles[i].top();
+        for (int j = 0; j < this.foundationPiles.length; j++) {
+          if (canMoveCardToFoundation(topCard, j)) {
+            moves.add(MoveBuffer.encode(MoveBuffer.PILE_TO_FOUNDATION, i, 1, j));
+          }
+        }
+      }
+    }
+    if (!this.deck.isEmpty()) {
+      for (int j = 0; j < this.foundationPiles.length; j++) {
+        if (canMoveCardToFoundation(this.deck.get(0), j)) {
+          moves.add(MoveBuffer.encode(MoveBuffer.DRAW_TO_FOUNDATION, 0, 1, j));
+        }
+      }
+    }
+
+    // STEP 2: MOVES OF CASCADE CARDS TO ANOTHER CASCADE PILE, ONLY LOOKING AT THE PILES THAT
+    // NEED EACH MOVABLE CARD
+    for (int i = 0; i < this.cascadePiles.length; i++) {
+      CascadePile sourcePile = this.cascadePiles[i];
+      for (int cardIdx = movableRunStart(sourcePile); cardIdx < sourcePile.size(); cardIdx++) {
+        int bottomCard = sourcePile.get(cardIdx);
+        int numCards = sourcePile.size() - cardIdx;
+        int j = this.moveIndex.firstPileNeeding(placementKey(bottomCard));
+        for (; j != MoveIndex.NO_PILE; j = this.moveIndex.nextPile(j)) {
+          if (i != j) {
+            moves.add(MoveBuffer.encode(MoveBuffer.PILE_TO_PILE, i, numCards, j));
+          }
+        }
+        if (canPlaceOnEmptyPile(bottomCard)) {
+          j = this.moveIndex.firstEmptyPile();
+          for (; j != MoveIndex.NO_PILE; j = this.moveIndex.nextPile(j)) {
+            moves.add(MoveBuffer.encode(MoveBuffer.PILE_TO_PILE, i, numCards, j));
+          }
+        }
+      }
+    }
+
+    // STEP 3: MOVES OF THE DRAW CARD TO A CASCADE PILE, OR DISCARDING IT
+    if (!this.deck.isEmpty()) {
+      for (int j = 0; j < this.cascadePiles.length; j++) {
+        if (canPlaceOnCascadePile(this.deck.get(0), this.cascadePiles[j])) {
+          moves.add(MoveBuffer.encode(MoveBuffer.DRAW_TO_PILE, 0, 1, j));
+        }
+      }
+      moves.add(MoveBuffer.encode(MoveBuffer.DISCARD_DRAW, 0, 0, 0));
+    }
+  }
+
+  /**
+   * Returns the index of the lowest card of a pile that may be moved to another cascade pile
+   * together with every card above it, which is the start of the run the pile keeps track of
+   * with the rule it was created with (see {@link #createCascadePile(int)}).
+   *
+   * @param pile the cascade pile
+   * @return the index of the lowest movable card, or 0 if the pile is empty
+   */
+  protected int movableRunStart(CascadePile pile) {
+    return pile.runStart();
   }
 
 
@@ -30,12 +30,6 @@ public interface Card {
 
   boolean isRed();
 
-  boolean isCardVisible();
-
-  void makeVisible();
-
-  void hideCard();
-
   boolean equals(Object o);
 
   int hashCode();
@@ -3,14 +3,38 @@ package cs3500.klondike.model.hw02;
 import java.util.Objects;
 
 /**
- * Implements the Card interface, representing a playing card in a deck with a specific value, suit,
- * and visibility state.
+ * Implements the Card interface, representing an immutable playing card in a deck with a specific
+ * value and suit.
+ *
+ * <p>Every card also has a compact integer code, {@code suit.ordinal() * 13 + (value - 1)}, in the
+ * range {@code [0, 52)}. Models store their piles as arrays of these codes and only turn them back
+ * into cards at the {@link KlondikeModel} API boundary, using the canonical card of each code from
+ * {@link CardImpl#fromCode(int)} so that no new card objects are allocated during a game.
  */
 public class CardImpl implements Card {
 
+  // the number of card values in a suit
+  public static final int NUM_VALUES = 13;
+  // the number of distinct card codes
+  public static final int NUM_CODES = NUM_VALUES * 4;
+
+  // the canonical card of each code, shared by every game
+  private static final CardImpl[] CARDS = new CardImpl[NUM_CODES];
+  // the suits, indexed by ordinal
+  private static final Suit[] SUITS = Suit.values();
+
+  static {
+    for (Suit suit : Suit.values()) {
+      for (int value = 1; value <= NUM_VALUES; value++) {
+        CardImpl card = new CardImpl(value, suit);
+        CARDS[card.code] = card;
+      }
+    }
+  }
+
   private final int value;
   private final Suit suit;
-  private boolean visible;
+  private final int code;
 
   /**
    * Constructs a card with a specified value and suit.
@@ -26,7 +50,82 @@ public class CardImpl implements Card {
     }
     this.value = value;
     this.suit = Objects.requireNonNull(suit, "Suit cannot be null");
-    this.visible = false;
+    this.code = suit.ordinal() * NUM_VALUES + (value - 1);
+  }
+
+  /**
+   * Returns the canonical card with the given value and suit.
+   *
+   * @param value the value of the card, should be between 1 and 13 inclusive
+   * @param suit  the suit of the card, cannot be null
+   * @return the shared card with that value and suit
+   * @throws IllegalArgumentException if the value is less than 1 or greater than 13
+   * @throws NullPointerException     if the suit is null
+   */
+  public static Card of(int value, Suit suit) {
+    if (value < 1 || value > NUM_VALUES) {
+      throw new IllegalArgumentException("Invalid card value");
+    }
+    return CARDS[Objects.requireNonNull(suit, "Suit cannot be null").ordinal() * NUM_VALUES
+        + (value - 1)];
+  }
+
+  /**
+   * Returns the canonical card of the given card code.
+   *
+   * @param code the code of the card
+   * @return the shared card with that code
+   * @throws IllegalArgumentException if the code is not a valid card code
+   */
+  public static Card fromCode(int code) {
+    if (code < 0 || code >= NUM_CODES) {
+      throw new IllegalArgumentException("Invalid card code");
+    }
+    return CARDS[code];
+  }
+
+  /**
+   * Returns the code of the given card. Any implementation of {@link Card} can be encoded.
+   *
+   * @param card the card to encode
+   * @return the code of the card
+   */
+  public static int toCode(Card card) {
+    if (card instanceof CardImpl) {
+      return ((CardImpl) card).code;
+    }
+    return card.getSuit().ordinal() * NUM_VALUES + (card.getValue() - 1);
+  }
+
+  /**
+   * Returns the value of the card with the given code.
+   *
+   * @param code the code of the card
+   * @return the value of the card, between 1 and 13 inclusive
+   */
+  public static int value(int code) {
+    return code % NUM_VALUES + 1;
+  }
+
+  /**
+   * Returns the suit of the card with the given code.
+   *
+   * @param code the code of the card
+   * @return the suit of the card
+   */
+  public static Suit suit(int code) {
+    return SUITS[code / NUM_VALUES];
+  }
+
+  /**
+   * Determines if the card with the given code is red.
+   *
+   * @param code the code of the card
+   * @return true if the card is a heart or a diamond, false otherwise
+   */
+  public static boolean isRed(int code) {
+    int suit = code / NUM_VALUES;
+    return suit == 1 || suit == 2;
   }
 
   /**
@@ -119,22 +218,6 @@ public class CardImpl implements Card {
   }
 
 
-  // determines whether the card is visible or not
-  public boolean isCardVisible() {
-    return this.visible;
-  }
-
-  // makes the card visible
-  public void makeVisible() {
-    this.visible = true;
-  }
-
-  // hides the card
-  public void hideCard() {
-    this.visible = false;
-  }
-
-
   // overriding the equals and hashCode method
   @Override
   public boolean equals(Object o) {
@@ -146,14 +229,12 @@ public class CardImpl implements Card {
     }
 
     CardImpl card = (CardImpl) o;
-    return this.value == card.value
-        && this.suit == card.suit
-        && this.visible == card.visible;  // optional: if visibility matters in equality
+    return this.code == card.code;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(value, suit, visible);
+    return this.code;
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,314 @@
+package cs3500.klondike.model.hw02;
+
+import java.util.Arrays;
+
+/**
+ * Represents one cascade pile of a game of Klondike as a growable array of card codes
+ * (see {@link CardImpl#toCode(Card)}), from the bottom of the pile (index 0) to its top.
+ *
+ * <p>A cascade pile is always a run of face-down cards followed by a run of face-up cards,
+ * so instead of a flag per card the pile only keeps the index of its first face-up card.
+ * Reading whether a card is face-up is an integer compare, and none of the read-only methods
+ * of the pile change its state.</p>
+ *
+ * <p>A pile may also be given a {@link RunRule} that says which cards can be moved together.
+ * For every card it then keeps the length of the run ending at that card, so the start of the
+ * run at the top of the pile is known without walking down the pile.</p>
+ */
+public class CascadePile {
+
+  /**
+   * Decides whether a card continues the run of the card right below it in a pile, so that
+   * the two may be moved together.
+   */
+  public interface RunRule {
+
+    /**
+     * Determines if a card continues the run of the card below it.
+     *
+     * @param lower the code of the card below
+     * @param upper the code of the card on top of it
+     * @return true if the upper card continues the run of the lower card, false otherwise
+     */
+    boolean continuesRun(int lower, int upper);
+  }
+
+  // the rule deciding which cards form runs, or null if no two cards do
+  private final RunRule runRule;
+  // the card codes of the pile
+  private int[] cards;
+  // the length of the run ending at each card of the pile, ignoring which cards are face-up
+  private int[] runLengths;
+  // the number of cards in the pile
+  private int size;
+  // the index of the first face-up card, or size if every card is face-down
+  private int firstFaceUp;
+
+  /**
+   * Constructs an empty cascade pile.
+   */
+  public CascadePile() {
+    this(8);
+  }
+
+  /**
+   * Constructs an empty cascade pile with room for the given number of cards before it has
+   * to grow, in which no two cards form a run.
+   *
+   * @param capacity the number of cards the pile can hold before growing
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public CascadePile(int capacity) {
+    this(capacity, null);
+  }
+
+  /**
+   * Constructs an empty cascade pile with room for the given number of cards before it has
+   * to grow, whose runs are decided by the given rule.
+   *
+   * @param capacity the number of cards the pile can hold before growing
+   * @param runRule the rule deciding which cards form runs, or null if no two cards do
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public CascadePile(int capacity, RunRule runRule) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.runRule = runRule;
+    this.cards = new int[capacity];
+    this.runLengths = new int[capacity];
+    this.size = 0;
+    this.firstFaceUp = 0;
+  }
+
+  /**
+   * Constructs a copy of the given pile, with the same cards and face-up cards, whose runs are
+   * decided by the given rule. The rule must decide runs the same way as the rule of the given
+   * pile, since the lengths of its runs are copied rather than recomputed.
+   *
+   * @param other the pile to copy
+   * @param runRule the rule deciding which cards form runs, or null if no two cards do
+   */
+  public CascadePile(CascadePile other, RunRule runRule) {
+    this.runRule = runRule;
+    this.cards = other.cards.clone();
+    this.runLengths = other.runLengths.clone();
+    this.size = other.size;
+    this.firstFaceUp = other.firstFaceUp;
+  }
+
+  /**
+   * Returns the number of cards in the pile.
+   *
+   * @return the height of the pile
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Determines if there are no cards in the pile.
+   *
+   * @return true if the pile is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Returns the code of the card at the given position.
+   *
+   * @param index the 0-based position of the card from the bottom of the pile
+   * @return the code of the card at that position
+   * @throws IndexOutOfBoundsException if the index is not in the pile
+   */
+  public int get(int index) {
+    checkIndex(index);
+    return this.cards[index];
+  }
+
+  /**
+   * Returns the code of the top card of the pile.
+   *
+   * @return the code of the last card in the pile
+   * @throws IndexOutOfBoundsException if the pile is empty
+   */
+  public int top() {
+    return get(this.size - 1);
+  }
+
+  /**
+   * Determines if the card at the given position is face-up.
+   *
+   * @param index the 0-based position of the card from the bottom of the pile
+   * @return true if the card is face-up, false otherwise
+   * @throws IndexOutOfBoundsException if the index is not in the pile
+   */
+  public boolean isFaceUp(int index) {
+    checkIndex(index);
+    return index >= this.firstFaceUp;
+  }
+
+  /**
+   * Returns the index of the first face-up card of the pile. Every card at or above this
+   * index is face-up, and every card below it is face-down.
+   *
+   * @return the index of the first face-up card, or the size of the pile if there is none
+   */
+  public int firstFaceUp() {
+    return this.firstFaceUp;
+  }
+
+  /**
+   * Returns the codes of the cards of the pile, from the bottom.
+   *
+   * @return a new array of the card codes
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(this.cards, this.size);
+  }
+
+  /**
+   * Returns the index of the lowest card of the run at the top of the pile. Only face-up
+   * cards are part of a run, and every card from this index to the top continues the run of
+   * the card below it.
+   *
+   * @return the index of the lowest card of the top run, or 0 if the pile is empty
+   */
+  public int runStart() {
+    if (this.size == 0) {
+      return 0;
+    }
+    return Math.max(this.size - this.runLengths[this.size - 1], this.firstFaceUp);
+  }
+
+  /**
+   * Returns the number of cards in the run at the top of the pile.
+   *
+   * @return the number of cards that can be moved together from the top of the pile
+   */
+  public int runLength() {
+    return this.size - runStart();
+  }
+
+  /**
+   * Turns the top card of the pile face-up, if the pile has one.
+   */
+  public void revealTop() {
+    if (this.size > 0 && this.firstFaceUp == this.size) {
+      this.firstFaceUp = this.size - 1;
+    }
+  }
+
+  /**
+   * Turns the lowest face-up card of the pile face-down again, undoing {@link #revealTop()}.
+   *
+   * @throws IllegalStateException if the pile has no face-up card
+   */
+  public void hideFirstFaceUp() {
+    if (this.firstFaceUp >= this.size) {
+      throw new IllegalStateException("no face-up card to turn face-down");
+    }
+    this.firstFaceUp++;
+  }
+
+  /**
+   * Turns every card of the pile face-up.
+   */
+  public void revealAll() {
+    this.firstFaceUp = 0;
+  }
+
+  /**
+   * Adds a face-up card to the top of the pile.
+   *
+   * @param code the code of the card to add
+   */
+  public void add(int code) {
+    if (this.size == this.cards.length) {
+      this.cards = Arrays.copyOf(this.cards, this.cards.length * 2);
+      this.runLengths = Arrays.copyOf(this.runLengths, this.cards.length);
+    }
+    boolean continuesRun = this.size > 0 && this.runRule != null
+        && this.runRule.continuesRun(this.cards[this.size - 1], code);
+    this.runLengths[this.size] = continuesRun ? this.runLengths[this.size - 1] + 1 : 1;
+    this.cards[this.size++] = code;
+  }
+
+  /**
+   * Adds a face-down card to the top of the pile, as when dealing.
+   *
+   * @param code the code of the card to add
+   * @throws IllegalStateException if the pile already has face-up cards
+   */
+  public void addFaceDown(int code) {
+    if (this.firstFaceUp != this.size) {
+      throw new IllegalStateException("cannot deal a face-down card onto a face-up card");
+    }
+    add(code);
+    this.firstFaceUp = this.size;
+  }
+
+  /**
+   * Moves the given number of cards from the top of this pile onto the top of another pile,
+   * keeping their order. The cards are moved by position with a single array copy, so it
+   * takes time in the number of cards moved and is not confused by duplicate cards.
+   * The moved cards are face-up on the destination pile.
+   *
+   * @param numCards the number of cards to move from the top of this pile
+   * @param dest the pile to move the cards onto
+   * @throws IllegalArgumentException if the number of cards is not in this pile, or the
+   *                                  destination is this pile
+   */
+  public void moveTopTo(int numCards, CascadePile dest) {
+    if (numCards < 0 || numCards > this.size || dest == this) {
+      throw new IllegalArgumentException("cannot move those cards");
+    }
+    int from = this.size - numCards;
+    int to = dest.size;
+    if (to + numCards > dest.cards.length) {
+      int capacity = Math.max(dest.cards.length * 2, to + numCards);
+      dest.cards = Arrays.copyOf(dest.cards, capacity);
+      dest.runLengths = Arrays.copyOf(dest.runLengths, capacity);
+    }
+    System.arraycopy(this.cards, from, dest.cards, to, numCards);
+    for (int i = to; i < to + numCards; i++) {
+      boolean continuesRun = i > 0 && dest.runRule != null
+          && dest.runRule.continuesRun(dest.cards[i - 1], dest.cards[i]);
+      dest.runLengths[i] = continuesRun ? dest.runLengths[i - 1] + 1 : 1;
+    }
+    dest.size += numCards;
+
+    this.size = from;
+    if (this.firstFaceUp > this.size) {
+      this.firstFaceUp = this.size;
+    }
+  }
+
+  /**
+   * Removes the top card of the pile and returns its code.
+   *
+   * @return the code of the removed card
+   * @throws IndexOutOfBoundsException if the pile is empty
+   */
+  public int removeTop() {
+    int code = top();
+    this.size--;
+    if (this.firstFaceUp > this.size) {
+      this.firstFaceUp = this.size;
+    }
+    return code;
+  }
+
+  /**
+   * Checks that the given position holds a card of this pile.
+   *
+   * @param index the 0-based position of the card from the bottom of the pile
+   * @throws IndexOutOfBoundsException if the index is not in the pile
+   */
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("index not in the cascade pile");
+    }
+  }
+}
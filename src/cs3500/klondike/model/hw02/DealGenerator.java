@@ -0,0 +1,134 @@
+package cs3500.klondike.model.hw02;
+
+/**
+ * A fast, deterministic random number generator used to deal reproducible games of Klondike
+ * from a single {@code long} deal number.
+ *
+ * <p>The generator is a SplitMix64 sequence: its state advances by an odd constant, its gamma,
+ * and each output is a mix of the state, so the same seed always produces the same numbers on
+ * every platform. A generator can be split into an independent one with a new state and a
+ * new gamma, so the two sequences do not advance in lockstep, which lets several threads
+ * deal their own games from one starting seed.</p>
+ */
+public final class DealGenerator {
+
+  // the gamma of a generator made from a seed
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  // the current state of the sequence
+  private long state;
+  // the odd constant the state advances by on every step
+  private final long gamma;
+
+  /**
+   * Constructs a generator whose sequence is determined by the given seed.
+   *
+   * @param seed the seed of the sequence
+   */
+  public DealGenerator(long seed) {
+    this(seed, GOLDEN_GAMMA);
+  }
+
+  /**
+   * Constructs a generator with the given state and gamma.
+   *
+   * @param seed  the seed of the sequence
+   * @param gamma the odd constant the state advances by
+   */
+  private DealGenerator(long seed, long gamma) {
+    this.state = seed;
+    this.gamma = gamma;
+  }
+
+  /**
+   * Mixes the bits of the given value, so that nearby inputs give unrelated outputs.
+   *
+   * @param z the value to mix
+   * @return the mixed value
+   */
+  public static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Returns the next number of the sequence.
+   *
+   * @return a uniformly distributed long
+   */
+  public long nextLong() {
+    this.state += this.gamma;
+    return mix64(this.state);
+  }
+
+  /**
+   * Returns the next number of the sequence, reduced to the given range.
+   *
+   * @param bound the exclusive upper bound of the number
+   * @return a number between 0 inclusive and the bound exclusive
+   * @throws IllegalArgumentException if the bound is not positive
+   */
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    // 63 random bits keep the bias of the remainder below 2^-32 for any int bound
+    return (int) ((nextLong() >>> 1) % bound);
+  }
+
+  /**
+   * Returns a new generator whose sequence is independent of the rest of this one.
+   *
+   * @return the new generator
+   */
+  public DealGenerator split() {
+    return new DealGenerator(nextLong(), mixGamma(nextLong()));
+  }
+
+  /**
+   * Turns a random value into a gamma: an odd number whose bits change often enough between
+   * neighbors that the states it steps through look unrelated.
+   *
+   * @param z the random value
+   * @return the gamma
+   */
+  private static long mixGamma(long z) {
+    z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    z = (z ^ (z >>> 33)) | 1L;
+    // too few changes between neighboring bits would make the sequence poorly mixed
+    return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+  }
+
+  /**
+   * Shuffles the given card codes in place with a Fisher-Yates shuffle driven by this
+   * generator.
+   *
+   * @param cards the card codes to shuffle
+   */
+  public void shuffle(int[] cards) {
+    for (int i = cards.length - 1; i > 0; i--) {
+      int j = nextInt(i + 1);
+      int swap = cards[i];
+      cards[i] = cards[j];
+      cards[j] = swap;
+    }
+  }
+
+  /**
+   * Returns the codes (see {@link CardImpl#toCode(Card)}) of a standard 52 card deck in the
+   * order dealt for the given deal number. The same deal number always gives the same order.
+   *
+   * @param dealSeed the deal number
+   * @return the shuffled card codes
+   */
+  public static int[] deal(long dealSeed) {
+    int[] cards = new int[CardImpl.NUM_CODES];
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = i;
+    }
+    new DealGenerator(dealSeed).shuffle(cards);
+    return cards;
+  }
+}
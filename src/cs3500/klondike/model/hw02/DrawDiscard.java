@@ -0,0 +1,58 @@
+package cs3500.klondike.model.hw02;
+
+/**
+ * What discarding the first draw card does, as decided by the rules of a variant (see
+ * {@link BasicKlondike#discardRule(int, int, int)}): whether the card goes to the back of the
+ * draw pile or is removed for good, and how far the game is through its passes through the
+ * draw pile afterwards. Games and their {@link KlondikeState} snapshots both discard by it, so
+ * they always agree.
+ */
+public final class DrawDiscard {
+
+  private final int drawPass;
+  private final int numDiscardedThisPass;
+  private final boolean recycles;
+
+  /**
+   * Constructs the outcome of a discard.
+   *
+   * @param drawPass             the pass through the draw pile after the discard, counting
+   *                             from 1
+   * @param numDiscardedThisPass the number of cards discarded during that pass after the
+   *                             discard
+   * @param recycles             whether the card goes to the back of the draw pile rather than
+   *                             being removed
+   */
+  public DrawDiscard(int drawPass, int numDiscardedThisPass, boolean recycles) {
+    this.drawPass = drawPass;
+    this.numDiscardedThisPass = numDiscardedThisPass;
+    this.recycles = recycles;
+  }
+
+  /**
+   * Returns the pass through the draw pile after the discard.
+   *
+   * @return the pass, counting from 1
+   */
+  public int getDrawPass() {
+    return this.drawPass;
+  }
+
+  /**
+   * Returns the number of cards discarded during the pass after the discard.
+   *
+   * @return the number of cards discarded
+   */
+  public int getNumDiscardedThisPass() {
+    return this.numDiscardedThisPass;
+  }
+
+  /**
+   * Determines if the discarded card goes to the back of the draw pile.
+   *
+   * @return true if the card is recycled, false if it is removed for good
+   */
+  public boolean recycles() {
+    return this.recycles;
+  }
+}
@@ -0,0 +1,227 @@
+package cs3500.klondike.model.hw02;
+
+import java.util.Arrays;
+
+/**
+ * Represents the draw pile (stock) of a game of Klondike as a circular buffer of card codes
+ * (see {@link CardImpl#toCode(Card)}).
+ *
+ * <p>The pile keeps a cursor to its current front card, so taking the front card,
+ * recycling it to the back, and permanently discarding it are all constant time
+ * operations. The cards that are currently available to the player are the first
+ * {@code numDraw} cards starting at the cursor, so no per-card bookkeeping is needed
+ * to know which draw cards are visible.</p>
+ *
+ * <p>The pile also keeps its part of the hash of the game (see {@link ZobristKeys}): the
+ * polynomial {@code key(c0) + key(c1) * R + ... + key(cn-1) * R^(n-1)} over the cards from the
+ * front, with an odd multiplier R and arithmetic modulo 2^64. Every card is weighed by its
+ * distance from the front, so draw piles of a shoe of several decks, whose duplicate cards
+ * would cancel out of an exclusive or, still hash by their order. Taking the front card
+ * subtracts its key and divides by R, putting it back multiplies by R and adds it, and moving
+ * it to the back also adds its key times R^(n-1), so with the powers of R worked out once the
+ * hash is kept up to date in constant time.</p>
+ */
+public class DrawPile {
+
+  // the multiplier of the polynomial hash, and its inverse modulo 2^64
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+  private static final long HASH_INVERSE = inverse(HASH_MULTIPLIER);
+
+  // the circular buffer holding the card codes of the draw pile
+  private final int[] cards;
+  // HASH_MULTIPLIER to the power of each index, up to the number of cards the pile can hold
+  private final long[] powers;
+  // the index in the buffer of the current front card of the draw pile
+  private int cursor;
+  // the number of cards left in the draw pile
+  private int size;
+  // the polynomial hash of the cards of the draw pile, in order from the front card
+  private long hash;
+
+  /**
+   * Constructs an empty draw pile.
+   */
+  public DrawPile() {
+    this.cards = new int[0];
+    this.powers = new long[0];
+    this.cursor = 0;
+    this.size = 0;
+    this.hash = 0;
+  }
+
+  /**
+   * Constructs a draw pile holding the given range of card codes, in order, with the card at
+   * {@code from} at the front.
+   *
+   * @param cards the card codes to take the draw pile from
+   * @param from  the index of the first card code of the draw pile, inclusive
+   * @param to    the index of the last card code of the draw pile, exclusive
+   * @throws IllegalArgumentException if the array of cards is null or the range is invalid
+   */
+  public DrawPile(int[] cards, int from, int to) {
+    if (cards == null || from < 0 || to > cards.length || from > to) {
+      throw new IllegalArgumentException("invalid draw pile cards");
+    }
+    this.cards = Arrays.copyOfRange(cards, from, to);
+    this.powers = new long[this.cards.length];
+    this.cursor = 0;
+    this.size = this.cards.length;
+    this.hash = 0;
+    long power = 1;
+    for (int i = 0; i < this.size; i++) {
+      this.powers[i] = power;
+      this.hash += ZobristKeys.drawCard(this.cards[i]) * power;
+      power *= HASH_MULTIPLIER;
+    }
+  }
+
+  /**
+   * Constructs a copy of the given draw pile, with the same cards in the same order.
+   *
+   * @param other the draw pile to copy
+   */
+  public DrawPile(DrawPile other) {
+    this.cards = other.cards.clone();
+    // never changed, so shared
+    this.powers = other.powers;
+    this.cursor = other.cursor;
+    this.size = other.size;
+    this.hash = other.hash;
+  }
+
+  /**
+   * Returns the number of cards left in the draw pile.
+   *
+   * @return the number of cards in the draw pile
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Determines if there are no cards left in the draw pile.
+   *
+   * @return true if the draw pile is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Returns the code of the card at the given position, counting from the front of the
+   * draw pile.
+   *
+   * @param index the 0-based position of the card from the front of the draw pile
+   * @return the code of the card at that position
+   * @throws IndexOutOfBoundsException if the index is not in the draw pile
+   */
+  public int get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("index not in the draw pile");
+    }
+    return this.cards[(this.cursor + index) % this.cards.length];
+  }
+
+  /**
+   * Returns the hash of the cards of the draw pile and their order, starting from the front
+   * card. Draw piles with the same cards in the same order have the same hash, even when some
+   * of the cards are the same.
+   *
+   * @return the hash of the draw pile
+   */
+  public long hash() {
+    return this.hash;
+  }
+
+  /**
+   * Returns the number of cards available to the player, given how many draw cards may
+   * be visible at a time.
+   *
+   * @param numDraw the maximum number of visible draw cards
+   * @return the number of visible draw cards
+   */
+  public int numVisible(int numDraw) {
+    return Math.min(this.size, numDraw);
+  }
+
+  /**
+   * Removes the front card of the draw pile and returns its code.
+   *
+   * @return the code of the front card of the draw pile
+   * @throws IllegalStateException if the draw pile is empty
+   */
+  public int popFront() {
+    if (this.size == 0) {
+      throw new IllegalStateException("draw pile is empty");
+    }
+    int front = this.cards[this.cursor];
+    this.hash = (this.hash - ZobristKeys.drawCard(front)) * HASH_INVERSE;
+    this.cursor = (this.cursor + 1) % this.cards.length;
+    this.size--;
+    return front;
+  }
+
+  /**
+   * Moves the front card of the draw pile to the back of the draw pile.
+   *
+   * @throws IllegalStateException if the draw pile is empty
+   */
+  public void recycleFront() {
+    if (this.size == 0) {
+      throw new IllegalStateException("draw pile is empty");
+    }
+    // every other card comes one closer to the front, and the front card goes the farthest
+    long key = ZobristKeys.drawCard(this.cards[this.cursor]);
+    this.hash = (this.hash - key) * HASH_INVERSE + key * this.powers[this.size - 1];
+    // when the buffer is full the front card already sits right after the back card
+    this.cards[(this.cursor + this.size) % this.cards.length] = this.cards[this.cursor];
+    this.cursor = (this.cursor + 1) % this.cards.length;
+  }
+
+  /**
+   * Puts a card back at the front of the draw pile, undoing {@link #popFront()}.
+   *
+   * @param code the code of the card
+   * @throws IllegalStateException if the draw pile has no room for the card
+   */
+  public void pushFront(int code) {
+    if (this.size == this.cards.length) {
+      throw new IllegalStateException("draw pile is full");
+    }
+    this.cursor = (this.cursor + this.cards.length - 1) % this.cards.length;
+    this.cards[this.cursor] = code;
+    this.size++;
+    this.hash = this.hash * HASH_MULTIPLIER + ZobristKeys.drawCard(code);
+  }
+
+  /**
+   * Moves the back card of the draw pile to the front, undoing {@link #recycleFront()}.
+   *
+   * @throws IllegalStateException if the draw pile is empty
+   */
+  public void returnBackToFront() {
+    if (this.size == 0) {
+      throw new IllegalStateException("draw pile is empty");
+    }
+    int back = this.cards[(this.cursor + this.size - 1) % this.cards.length];
+    long key = ZobristKeys.drawCard(back);
+    this.hash = (this.hash - key * this.powers[this.size - 1]) * HASH_MULTIPLIER + key;
+    this.cursor = (this.cursor + this.cards.length - 1) % this.cards.length;
+    this.cards[this.cursor] = back;
+  }
+
+  /**
+   * Returns the inverse of an odd number modulo 2^64, by Newton's method: every step doubles
+   * the number of low bits that are right, and an odd number is its own inverse modulo 8.
+   *
+   * @param odd the odd number
+   * @return the number that gives 1 when multiplied by it
+   */
+  private static long inverse(long odd) {
+    long inverse = odd;
+    for (int i = 0; i < 5; i++) {
+      inverse *= 2 - odd * inverse;
+    }
+    return inverse;
+  }
+}
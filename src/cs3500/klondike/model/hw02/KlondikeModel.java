@@ -49,6 +49,24 @@ public interface KlondikeModel {
   void startGame(List<Card> deck, boolean shuffle, int numPiles, int numDraw)
       throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * <p>Deal a new game of Klondike from a standard 52 card deck, in the order given by a
+   * deal number (see {@link DealGenerator#deal(long)}).</p>
+   *
+   * <p>The same deal number always deals the same game, so a game can be stored or replayed
+   * as just its deal number and settings. The cards are dealt as in
+   * {@link KlondikeModel#startGame(List, boolean, int, int)}.</p>
+   *
+   * @param dealSeed  the deal number that determines the order of the cards
+   * @param numPiles  number of piles to be dealt
+   * @param numDraw   maximum number of draw cards available at a time
+   * @throws IllegalStateException if the game has already started
+   * @throws IllegalArgumentException if a full cascade cannot be dealt with the given sizes,
+   *                  or another input is invalid
+   */
+  void startGame(long dealSeed, int numPiles, int numDraw)
+      throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Moves the requested number of cards from the source pile to the destination pile,
    * if allowable by the rules of the game.
@@ -111,6 +129,53 @@ public interface KlondikeModel {
    */
   void discardDraw() throws IllegalStateException;
 
+  /**
+   * Attempts {@link KlondikeModel#movePile(int, int, int)}, reporting why the move could not
+   * be made instead of throwing an exception. The game is unchanged unless the move is made.
+   * @param srcPile  the 0-based index (from the left) of the pile to be moved
+   * @param numCards how many cards to be moved from that pile
+   * @param destPile the 0-based index (from the left) of the destination pile for the
+   *                 moved cards
+   * @return {@link MoveResult#SUCCESS} if the cards were moved, or the reason they were not
+   */
+  MoveResult tryMovePile(int srcPile, int numCards, int destPile);
+
+  /**
+   * Attempts {@link KlondikeModel#moveDraw(int)}, reporting why the move could not be made
+   * instead of throwing an exception. The game is unchanged unless the move is made.
+   * @param destPile the 0-based index (from the left) of the destination pile for the
+   *                 card
+   * @return {@link MoveResult#SUCCESS} if the card was moved, or the reason it was not
+   */
+  MoveResult tryMoveDraw(int destPile);
+
+  /**
+   * Attempts {@link KlondikeModel#moveToFoundation(int, int)}, reporting why the move could
+   * not be made instead of throwing an exception. The game is unchanged unless the move is made.
+   * @param srcPile        the 0-based index (from the left) of the pile to move a card
+   * @param foundationPile the 0-based index (from the left) of the foundation pile to
+   *                       place the card
+   * @return {@link MoveResult#SUCCESS} if the card was moved, or the reason it was not
+   */
+  MoveResult tryMoveToFoundation(int srcPile, int foundationPile);
+
+  /**
+   * Attempts {@link KlondikeModel#moveDrawToFoundation(int)}, reporting why the move could not
+   * be made instead of throwing an exception. The game is unchanged unless the move is made.
+   * @param foundationPile the 0-based index (from the left) of the foundation pile to
+   *                       place the card
+   * @return {@link MoveResult#SUCCESS} if the card was moved, or the reason it was not
+   */
+  MoveResult tryMoveDrawToFoundation(int foundationPile);
+
+  /**
+   * Attempts {@link KlondikeModel#discardDraw()}, reporting why the draw card could not be
+   * discarded instead of throwing an exception. The game is unchanged unless the card is
+   * discarded.
+   * @return {@link MoveResult#SUCCESS} if the card was discarded, or the reason it was not
+   */
+  MoveResult tryDiscardDraw();
+
   /**
    * Returns the number of rows currently in the game.
    * @return the height of the current table of cards
@@ -150,6 +215,21 @@ public interface KlondikeModel {
    */
   int getScore() throws IllegalStateException;
 
+  /**
+   * Return the score of a won game, when every foundation pile holds a complete run.
+   * The player has won exactly when {@link KlondikeModel#getScore()} equals this score.
+   * @return the highest possible score
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  int getMaxScore() throws IllegalStateException;
+
+  /**
+   * Signal if the game has been won, which is when every card is on a foundation pile.
+   * @return true if game is won, false otherwise
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  boolean isWon() throws IllegalStateException;
+
   /**
    * Returns the number of cards in the specified pile.
    * @param pileNum the 0-based index (from the left) of the pile
@@ -159,6 +239,16 @@ public interface KlondikeModel {
    */
   int getPileHeight(int pileNum) throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Returns the number of cards at the top of the specified pile that form a run, and so
+   * may be moved together to another pile by the rules of the game.
+   * @param pileNum the 0-based index (from the left) of the pile
+   * @return the number of cards in the run at the top of the pile, or 0 if it is empty
+   * @throws IllegalStateException if the game hasn't been started yet
+   * @throws IllegalArgumentException if pile number is invalid
+   */
+  int getRunLength(int pileNum) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Returns whether the card at the specified coordinates is face-up or not.
    * @param pileNum  column of the desired card (0-indexed from the left)
@@ -209,4 +299,105 @@ public interface KlondikeModel {
    */
   int getNumFoundations() throws IllegalStateException;
 
+  /**
+   * Fills the given buffer with every move that is legal in the current state of the game,
+   * replacing whatever it held. Moves to the foundation piles come first, then moves to the
+   * cascade piles, then discarding the top draw card. This method does not change the game,
+   * and only allocates if the buffer has to grow.
+   * @param moves the buffer to fill with the encoded legal moves
+   * @throws IllegalStateException if the game hasn't been started yet
+   * @throws IllegalArgumentException if the buffer is null
+   */
+  void legalMoves(MoveBuffer moves) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Attempts a move encoded as by {@link MoveBuffer#encode(int, int, int, int)}, such as one
+   * given by {@link #legalMoves(MoveBuffer)}, with the try method of its type.
+   * @param move the encoded move
+   * @return {@link MoveResult#SUCCESS} if the move was made, or why it was not
+   */
+  MoveResult tryMove(int move);
+
+  /**
+   * Finds a legal move of a card to a foundation pile that provably cannot lose a game that
+   * could be won, because no card that could ever be built on it on a cascade pile is still
+   * off the foundation piles. In a basic game that is an ace, a two, or a card both of whose
+   * opposite-color cards one lower are already on foundation piles; other variants may apply
+   * the rule of their own building order. Solvers can play such a move without trying any
+   * other. This method does not change the game.
+   * @return the safe move, encoded as by {@link MoveBuffer}, or -1 if there is none
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  int safeFoundationMove() throws IllegalStateException;
+
+  /**
+   * Plays every safe move to a foundation pile (see {@link #safeFoundationMove()}), including
+   * the ones that become safe as cards are moved, until none is left. Each move is made and
+   * can be undone like any other.
+   * @return the number of moves made
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  int autoPlayToFoundations() throws IllegalStateException;
+
+  /**
+   * Returns an independent copy of this game in its current state, of the same variant.
+   * Moves made on the copy do not affect this game, and moves made on this game do not
+   * affect the copy, so a copy can be used to try out moves. Copying only copies the arrays
+   * the game is stored in, and does not create any cards.
+   * @return the copy of this game
+   */
+  KlondikeModel copy();
+
+  /**
+   * Returns an immutable snapshot of this game in its current state, which plays moves by the
+   * rules of this variant by returning new states (see {@link KlondikeState}). Later moves made
+   * on this game do not affect the snapshot.
+   * @return the state of this game
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  KlondikeState getState() throws IllegalStateException;
+
+  /**
+   * Determines if there is a move to undo.
+   * @return true if a move has been made since the game started and not undone, false otherwise
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  boolean canUndo() throws IllegalStateException;
+
+  /**
+   * Determines if there is a move to redo.
+   * @return true if a move has been undone and no other move made since, false otherwise
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  boolean canRedo() throws IllegalStateException;
+
+  /**
+   * Undoes the last move that has not been undone, putting the game back in the state it was
+   * in before the move, including the draw pile and any face-down card the move turned over.
+   * The game only remembers what each move changed, so undoing takes time in the number of
+   * cards the move moved.
+   * @throws IllegalStateException if the game hasn't been started yet, or there is no move to
+   *                               undo
+   */
+  void undo() throws IllegalStateException;
+
+  /**
+   * Makes the last undone move again. Making any other move forgets the undone moves.
+   * @throws IllegalStateException if the game hasn't been started yet, or there is no move to
+   *                               redo
+   */
+  void redo() throws IllegalStateException;
+
+  /**
+   * Returns a 64-bit Zobrist hash of the position of the game: the cards of every cascade pile
+   * and which of them are face-up, the top card of every foundation pile, and the draw cards in
+   * order from the first one, along with how far the game is through a limited number of
+   * passes through the draw pile. Games in the same position have the same hash however they
+   * got there, and games in different positions almost never do. The hash is kept up to date
+   * by every move, so this takes constant time.
+   * @return the hash of the position
+   * @throws IllegalStateException if the game hasn't been started yet
+   */
+  long positionHash() throws IllegalStateException;
+
 }
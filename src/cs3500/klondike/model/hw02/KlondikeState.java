@@ -0,0 +1,756 @@
+package cs3500.klondike.model.hw02;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable snapshot of a game of Klondike, which plays moves by returning new states.
+ * States are made from a started game with {@link KlondikeModel#getState()} and follow the
+ * rules of the variant they were made from.
+ *
+ * <p>A state keeps every cascade pile as its own array of card codes that is never changed
+ * once the state is made. A move only copies the piles it touches (and the small arrays of
+ * pile and foundation tops), so the new state shares every other pile with the state it was
+ * played on. Many threads can therefore explore moves from a common state without locks or
+ * full copies of the game, and keeping every state of a game for a replay costs about one
+ * pile per move.</p>
+ *
+ * <p>The draw pile is an array of card codes read from a front index: discarding the front
+ * card to the back of the draw pile only moves the front index, and removing it copies the
+ * other draw cards.</p>
+ */
+public final class KlondikeState {
+
+  // an unstarted game of the variant this state was made from, which is only asked for rules
+  private final BasicKlondike rules;
+  // the card codes of each cascade pile, from the bottom; never changed, and shared by states
+  private final int[][] piles;
+  // the index of the first face-up card of each cascade pile
+  private final int[] firstFaceUp;
+  // the code of the top card of each foundation pile, or BasicKlondike.EMPTY_FOUNDATION
+  private final int[] foundations;
+  // the card codes of the draw pile, read in order starting from drawFront
+  private final int[] draw;
+  // the index in draw of the first draw card
+  private final int drawFront;
+  // the maximum number of visible draw cards
+  private final int numDraw;
+  // the sum of the values of the top foundation cards, and its value in a won game
+  private final int score;
+  private final int maxScore;
+  // the pass through the draw pile the game is on, counting from 1, and the number of cards
+  // discarded during it
+  private final int drawPass;
+  private final int numDiscardedThisPass;
+
+  /**
+   * Constructs a state from the parts of a started game, taking ownership of the arrays.
+   *
+   * @param rules                an unstarted game of the variant the state follows the rules of
+   * @param piles                the card codes of each cascade pile
+   * @param firstFaceUp          the index of the first face-up card of each cascade pile
+   * @param foundations          the top card code of each foundation pile
+   * @param draw                 the card codes of the draw pile, starting from its first card
+   * @param numDraw              the maximum number of visible draw cards
+   * @param score                the current score
+   * @param maxScore             the score of a won game
+   * @param drawPass             the pass through the draw pile the game is on
+   * @param numDiscardedThisPass the number of cards discarded during that pass
+   */
+  KlondikeState(BasicKlondike rules, int[][] piles, int[] firstFaceUp, int[] foundations,
+      int[] draw, int numDraw, int score, int maxScore, int drawPass,
+      int numDiscardedThisPass) {
+    this.rules = rules;
+    this.piles = piles;
+    this.firstFaceUp = firstFaceUp;
+    this.foundations = foundations;
+    this.draw = draw;
+    this.drawFront = 0;
+    this.numDraw = numDraw;
+    this.score = score;
+    this.maxScore = maxScore;
+    this.drawPass = drawPass;
+    this.numDiscardedThisPass = numDiscardedThisPass;
+  }
+
+  /**
+   * Constructs the state after a move played on the given one, which shares every part of
+   * the given state that is passed in again.
+   *
+   * @param parent               the state the move was played on
+   * @param piles                the card codes of each cascade pile
+   * @param firstFaceUp          the index of the first face-up card of each cascade pile
+   * @param foundations          the top card code of each foundation pile
+   * @param draw                 the card codes of the draw pile
+   * @param drawFront            the index in draw of the first draw card
+   * @param score                the score after the move
+   * @param drawPass             the pass through the draw pile after the move
+   * @param numDiscardedThisPass the number of cards discarded during that pass
+   */
+  private KlondikeState(KlondikeState parent, int[][] piles, int[] firstFaceUp,
+      int[] foundations, int[] draw, int drawFront, int score, int drawPass,
+      int numDiscardedThisPass) {
+    this.rules = parent.rules;
+    this.piles = piles;
+    this.firstFaceUp = firstFaceUp;
+    this.foundations = foundations;
+    this.draw = draw;
+    this.drawFront = drawFront;
+    this.numDraw = parent.numDraw;
+    this.score = score;
+    this.maxScore = parent.maxScore;
+    this.drawPass = drawPass;
+    this.numDiscardedThisPass = numDiscardedThisPass;
+  }
+
+  /**
+   * Returns the number of cascade piles.
+   *
+   * @return the number of piles
+   */
+  public int getNumPiles() {
+    return this.piles.length;
+  }
+
+  /**
+   * Returns the number of foundation piles.
+   *
+   * @return the number of foundation piles
+   */
+  public int getNumFoundations() {
+    return this.foundations.length;
+  }
+
+  /**
+   * Returns the maximum number of visible draw cards.
+   *
+   * @return the number of visible cards in the draw pile
+   */
+  public int getNumDraw() {
+    return this.numDraw;
+  }
+
+  /**
+   * Returns the number of cards in a cascade pile.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @return the height of the pile
+   * @throws IllegalArgumentException if the pile number is invalid
+   */
+  public int getPileHeight(int pileNum) throws IllegalArgumentException {
+    checkPile(pileNum);
+    return this.piles[pileNum].length;
+  }
+
+  /**
+   * Determines if a card of a cascade pile is face-up.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @param card    the 0-based index of the card from the bottom of the pile
+   * @return true if the card is visible, false otherwise
+   * @throws IllegalArgumentException if the pile or card number is invalid
+   */
+  public boolean isCardVisible(int pileNum, int card) throws IllegalArgumentException {
+    checkPile(pileNum);
+    if (card < 0 || card >= this.piles[pileNum].length) {
+      throw new IllegalArgumentException("card num not valid");
+    }
+    return card >= this.firstFaceUp[pileNum];
+  }
+
+  /**
+   * Returns a face-up card of a cascade pile.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @param card    the 0-based index of the card from the bottom of the pile
+   * @return the card, or null if the pile is empty
+   * @throws IllegalArgumentException if the pile or card number is invalid, or the card is not
+   *                                  visible
+   */
+  public Card getCardAt(int pileNum, int card) throws IllegalArgumentException {
+    checkPile(pileNum);
+    if (this.piles[pileNum].length == 0) {
+      return null;
+    }
+    if (!isCardVisible(pileNum, card)) {
+      throw new IllegalArgumentException("card is not visible");
+    }
+    return CardImpl.fromCode(this.piles[pileNum][card]);
+  }
+
+  /**
+   * Returns the code (see {@link CardImpl#toCode(Card)}) of a face-up card of a cascade pile,
+   * which reads it without making a card.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @param card    the 0-based index of the card from the bottom of the pile
+   * @return the code of the card
+   * @throws IllegalArgumentException if the pile or card number is invalid, or the card is not
+   *                                  visible
+   */
+  public int getCardCodeAt(int pileNum, int card) throws IllegalArgumentException {
+    if (!isCardVisible(pileNum, card)) {
+      throw new IllegalArgumentException("card is not visible");
+    }
+    return this.piles[pileNum][card];
+  }
+
+  /**
+   * Returns the top card of a foundation pile.
+   *
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return the top card, or null if the foundation pile is empty
+   * @throws IllegalArgumentException if the foundation pile number is invalid
+   */
+  public Card getCardAt(int foundationPile) throws IllegalArgumentException {
+    checkFoundation(foundationPile);
+    int top = this.foundations[foundationPile];
+    return top == BasicKlondike.EMPTY_FOUNDATION ? null : CardImpl.fromCode(top);
+  }
+
+  /**
+   * Returns the visible draw cards, first the one to be drawn.
+   *
+   * @return a new list of at most {@link #getNumDraw()} cards
+   */
+  public List<Card> getDrawCards() {
+    int numVisible = Math.min(this.numDraw, this.draw.length);
+    List<Card> drawCards = new ArrayList<>(numVisible);
+    for (int i = 0; i < numVisible; i++) {
+      drawCards.add(CardImpl.fromCode(drawCard(i)));
+    }
+    return drawCards;
+  }
+
+  /**
+   * Returns the current score, which is the sum of the values of the top foundation cards.
+   *
+   * @return the score
+   */
+  public int getScore() {
+    return this.score;
+  }
+
+  /**
+   * Returns the score of a won game.
+   *
+   * @return the maximum score
+   */
+  public int getMaxScore() {
+    return this.maxScore;
+  }
+
+  /**
+   * Determines if every card is on a foundation pile.
+   *
+   * @return true if the game is won, false otherwise
+   */
+  public boolean isWon() {
+    return this.score == this.maxScore;
+  }
+
+  /**
+   * Determines if the game is over: there are no draw cards left and no card can be moved to
+   * another cascade pile or to a foundation pile.
+   *
+   * @return true if the game is over, false otherwise
+   */
+  public boolean isGameOver() {
+    return this.draw.length == 0 && !findMoves(null);
+  }
+
+  /**
+   * Fills the given buffer with every move that can be played on this state, which are the
+   * moves {@link KlondikeModel#legalMoves(MoveBuffer)} gives for the same game, though moves
+   * between cascade piles may be in another order.
+   *
+   * @param moves the buffer to clear and fill
+   * @throws IllegalArgumentException if the buffer is null
+   */
+  public void legalMoves(MoveBuffer moves) throws IllegalArgumentException {
+    if (moves == null) {
+      throw new IllegalArgumentException("move buffer cannot be null");
+    }
+    moves.clear();
+    findMoves(moves);
+  }
+
+  /**
+   * Finds a legal move of a card to a foundation pile that provably cannot lose a game that
+   * could be won, by the same rule as {@link KlondikeModel#safeFoundationMove()} for the
+   * variant this state was made from.
+   *
+   * @return the safe move, encoded as by {@link MoveBuffer}, or -1 if there is none
+   */
+  public int safeFoundationMove() {
+    for (int i = 0; i < this.piles.length; i++) {
+      if (this.piles[i].length > 0) {
+        int card = this.piles[i][this.piles[i].length - 1];
+        int foundationPile = foundationPileFor(card);
+        if (foundationPile >= 0 && this.rules.isSafeOnFoundation(card, this.foundations)) {
+          return MoveBuffer.encode(MoveBuffer.PILE_TO_FOUNDATION, i, 1, foundationPile);
+        }
+      }
+    }
+    if (this.draw.length > 0) {
+      int card = drawCard(0);
+      int foundationPile = foundationPileFor(card);
+      if (foundationPile >= 0 && this.rules.isSafeOnFoundation(card, this.foundations)) {
+        return MoveBuffer.encode(MoveBuffer.DRAW_TO_FOUNDATION, 0, 1, foundationPile);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Moves the top cards of one cascade pile onto another.
+   *
+   * @param srcPile  the 0-based index of the source pile
+   * @param numCards the number of cards to move
+   * @param destPile the 0-based index of the destination pile
+   * @return the state after the move
+   * @throws IllegalArgumentException if a pile number is invalid, or the cards are not there
+   *                                  or not visible
+   * @throws IllegalStateException    if the move is not allowed
+   */
+  public KlondikeState movePile(int srcPile, int numCards, int destPile)
+      throws IllegalArgumentException, IllegalStateException {
+    if (srcPile < 0 || srcPile >= this.piles.length || destPile < 0
+        || destPile >= this.piles.length || srcPile == destPile) {
+      MoveResult.INVALID_PILE.throwIfFailed();
+    }
+    int[] src = this.piles[srcPile];
+    if (numCards <= 0 || numCards > src.length
+        || src.length - numCards < this.firstFaceUp[srcPile]) {
+      MoveResult.INVALID_CARDS.throwIfFailed();
+    }
+    if (numCards > src.length - runStart(srcPile)
+        || !canPlaceOnPile(src[src.length - numCards], destPile)) {
+      MoveResult.NOT_ALLOWED.throwIfFailed();
+    }
+    return movePileUnchecked(srcPile, numCards, destPile);
+  }
+
+  /**
+   * Moves the first draw card onto a cascade pile.
+   *
+   * @param destPile the 0-based index of the destination pile
+   * @return the state after the move
+   * @throws IllegalArgumentException if the pile number is invalid
+   * @throws IllegalStateException    if there are no draw cards, or the move is not allowed
+   */
+  public KlondikeState moveDraw(int destPile)
+      throws IllegalArgumentException, IllegalStateException {
+    if (this.draw.length == 0) {
+      MoveResult.NO_CARDS.throwIfFailed();
+    }
+    checkPile(destPile);
+    if (!canPlaceOnPile(drawCard(0), destPile)) {
+      MoveResult.NOT_ALLOWED.throwIfFailed();
+    }
+    return moveDrawUnchecked(destPile);
+  }
+
+  /**
+   * Moves the top card of a cascade pile to a foundation pile.
+   *
+   * @param srcPile        the 0-based index of the source pile
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return the state after the move
+   * @throws IllegalArgumentException if a pile number is invalid
+   * @throws IllegalStateException    if the source pile is empty, or the move is not allowed
+   */
+  public KlondikeState moveToFoundation(int srcPile, int foundationPile)
+      throws IllegalArgumentException, IllegalStateException {
+    checkFoundation(foundationPile);
+    checkPile(srcPile);
+    int[] src = this.piles[srcPile];
+    if (src.length == 0) {
+      MoveResult.NO_CARDS.throwIfFailed();
+    }
+    if (!canMoveToFoundation(src[src.length - 1], foundationPile)) {
+      MoveResult.NOT_ALLOWED.throwIfFailed();
+    }
+    return moveToFoundationUnchecked(srcPile, foundationPile);
+  }
+
+  /**
+   * Moves the first draw card to a foundation pile.
+   *
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return the state after the move
+   * @throws IllegalArgumentException if the foundation pile number is invalid
+   * @throws IllegalStateException    if there are no draw cards, or the move is not allowed
+   */
+  public KlondikeState moveDrawToFoundation(int foundationPile)
+      throws IllegalArgumentException, IllegalStateException {
+    checkFoundation(foundationPile);
+    if (this.draw.length == 0) {
+      MoveResult.NO_CARDS.throwIfFailed();
+    }
+    if (!canMoveToFoundation(drawCard(0), foundationPile)) {
+      MoveResult.NOT_ALLOWED.throwIfFailed();
+    }
+    return moveDrawToFoundationUnchecked(foundationPile);
+  }
+
+  /**
+   * Discards the first draw card, to the back of the draw pile or for good once the variant
+   * allows no more passes through the draw pile.
+   *
+   * @return the state after the discard
+   * @throws IllegalStateException if there are no draw cards
+   */
+  public KlondikeState discardDraw() throws IllegalStateException {
+    if (this.draw.length == 0) {
+      MoveResult.NO_CARDS.throwIfFailed();
+    }
+    return discardDrawUnchecked();
+  }
+
+  /**
+   * Plays a move generated by {@link #legalMoves(MoveBuffer)} for this state, without checking
+   * it again.
+   *
+   * @param move the encoded move, which must be legal in this state
+   * @return the state after the move
+   */
+  public KlondikeState apply(int move) {
+    switch (MoveBuffer.type(move)) {
+      case MoveBuffer.PILE_TO_PILE:
+        return movePileUnchecked(MoveBuffer.source(move), MoveBuffer.numCards(move),
+            MoveBuffer.destination(move));
+      case MoveBuffer.DRAW_TO_PILE:
+        return moveDrawUnchecked(MoveBuffer.destination(move));
+      case MoveBuffer.PILE_TO_FOUNDATION:
+        return moveToFoundationUnchecked(MoveBuffer.source(move), MoveBuffer.destination(move));
+      case MoveBuffer.DRAW_TO_FOUNDATION:
+        return moveDrawToFoundationUnchecked(MoveBuffer.destination(move));
+      default:
+        return discardDrawUnchecked();
+    }
+  }
+
+  /**
+   * Two states are equal when they follow the rules of the same variant and have the same
+   * cards in the same places, score and passes through the draw pile, whatever moves led to
+   * them.
+   *
+   * @param o the object to compare to
+   * @return true if the states are equal, false otherwise
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof KlondikeState)) {
+      return false;
+    }
+    KlondikeState other = (KlondikeState) o;
+    if (this.rules.getClass() != other.rules.getClass()
+        || this.rules.numDrawPassesAllowed() != other.rules.numDrawPassesAllowed()
+        || this.numDraw != other.numDraw || this.score != other.score
+        || this.drawPass != other.drawPass
+        || this.numDiscardedThisPass != other.numDiscardedThisPass
+        || this.draw.length != other.draw.length
+        || !Arrays.equals(this.foundations, other.foundations)
+        || !Arrays.equals(this.firstFaceUp, other.firstFaceUp)
+        || !Arrays.deepEquals(this.piles, other.piles)) {
+      return false;
+    }
+    for (int i = 0; i < this.draw.length; i++) {
+      if (drawCard(i) != other.drawCard(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Arrays.deepHashCode(this.piles);
+    hash = 31 * hash + Arrays.hashCode(this.firstFaceUp);
+    hash = 31 * hash + Arrays.hashCode(this.foundations);
+    for (int i = 0; i < this.draw.length; i++) {
+      hash = 31 * hash + drawCard(i);
+    }
+    return 31 * hash + this.drawPass;
+  }
+
+  /**
+   * Returns the code of a draw card.
+   *
+   * @param index the 0-based position of the card from the first draw card
+   * @return the code of the card
+   */
+  private int drawCard(int index) {
+    return this.draw[(this.drawFront + index) % this.draw.length];
+  }
+
+  /**
+   * Checks that a cascade pile number is valid.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @throws IllegalArgumentException if the pile number is invalid
+   */
+  private void checkPile(int pileNum) {
+    if (pileNum < 0 || pileNum >= this.piles.length) {
+      throw new IllegalArgumentException("pile num invalid");
+    }
+  }
+
+  /**
+   * Checks that a foundation pile number is valid.
+   *
+   * @param foundationPile the 0-based index of the foundation pile
+   * @throws IllegalArgumentException if the foundation pile number is invalid
+   */
+  private void checkFoundation(int foundationPile) {
+    if (foundationPile < 0 || foundationPile >= this.foundations.length) {
+      throw new IllegalArgumentException("foundation pile index invalid");
+    }
+  }
+
+  /**
+   * Returns the index of the lowest card of a cascade pile that may be moved together with
+   * every card above it, walking down the run at the top of the pile.
+   *
+   * @param pileNum the 0-based index of the pile
+   * @return the index of the lowest movable card, or 0 if the pile is empty
+   */
+  private int runStart(int pileNum) {
+    int[] pile = this.piles[pileNum];
+    int start = pile.length - 1;
+    while (start > this.firstFaceUp[pileNum]
+        && this.rules.continuesRun(pile[start - 1], pile[start])) {
+      start--;
+    }
+    return Math.max(start, 0);
+  }
+
+  /**
+   * Determines if a card can be placed on a cascade pile by the rules of this state's variant.
+   *
+   * @param code    the code of the card being placed
+   * @param pileNum the 0-based index of the destination pile
+   * @return true if the card can be placed on the pile, false otherwise
+   */
+  private boolean canPlaceOnPile(int code, int pileNum) {
+    int[] pile = this.piles[pileNum];
+    if (pile.length == 0) {
+      return this.rules.canPlaceOnEmptyPile(code);
+    }
+    return BasicKlondike.placementKey(code) == this.rules.neededKey(pile[pile.length - 1]);
+  }
+
+  /**
+   * Determines if a card can be moved to a foundation pile.
+   *
+   * @param code           the code of the card
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return true if the card is the next one the foundation pile needs, false otherwise
+   */
+  private boolean canMoveToFoundation(int code, int foundationPile) {
+    int top = this.foundations[foundationPile];
+    if (top == BasicKlondike.EMPTY_FOUNDATION) {
+      return CardImpl.value(code) == 1;
+    }
+    return CardImpl.value(top) < CardImpl.NUM_VALUES && code == top + 1;
+  }
+
+  /**
+   * Returns the foundation pile a card can be moved to.
+   *
+   * @param code the code of the card
+   * @return the 0-based index of the foundation pile, or -1 if there is none
+   */
+  private int foundationPileFor(int code) {
+    for (int i = 0; i < this.foundations.length; i++) {
+      if (canMoveToFoundation(code, i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds the legal moves of this state, either adding them all to a buffer or stopping at
+   * the first move between or off the cascade piles.
+   *
+   * @param moves the buffer to add every move to, or null to only look for one
+   * @return true if there is a move that does not involve the draw pile, false otherwise
+   */
+  private boolean findMoves(MoveBuffer moves) {
+    boolean found = false;
+    // STEP 1: MOVES OF A CASCADE CARD OR THE DRAW CARD TO A FOUNDATION PILE
+    for (int i = 0; i < this.piles.length; i++) {
+      if (this.piles[i].length > 0) {
+        int topCard = this.piles[i][this.piles[i].length - 1];
+        for (int j = 0; j < this.foundations.length; j++) {
+          if (canMoveToFoundation(topCard, j)) {
+            if (moves == null) {
+              return true;
+            }
+            moves.add(MoveBuffer.encode(MoveBuffer.PILE_TO_FOUNDATION, i, 1, j));
+            found = true;
+          }
+        }
+      }
+    }
+    if (moves != null && this.draw.length > 0) {
+      for (int j = 0; j < this.foundations.length; j++) {
+        if (canMoveToFoundation(drawCard(0), j)) {
+          moves.add(MoveBuffer.encode(MoveBuffer.DRAW_TO_FOUNDATION, 0, 1, j));
+        }
+      }
+    }
+
+    // STEP 2: MOVES OF CASCADE CARDS TO ANOTHER CASCADE PILE
+    for (int i = 0; i < this.piles.length; i++) {
+      int[] src = this.piles[i];
+      for (int cardIdx = runStart(i); cardIdx < src.length; cardIdx++) {
+        for (int j = 0; j < this.piles.length; j++) {
+          if (i != j && canPlaceOnPile(src[cardIdx], j)) {
+            if (moves == null) {
+              return true;
+            }
+            moves.add(MoveBuffer.encode(MoveBuffer.PILE_TO_PILE, i, src.length - cardIdx, j));
+            found = true;
+          }
+        }
+      }
+    }
+
+    // STEP 3: MOVES OF THE DRAW CARD TO A CASCADE PILE, OR DISCARDING IT
+    if (moves != null && this.draw.length > 0) {
+      for (int j = 0; j < this.piles.length; j++) {
+        if (canPlaceOnPile(drawCard(0), j)) {
+          moves.add(MoveBuffer.encode(MoveBuffer.DRAW_TO_PILE, 0, 1, j));
+        }
+      }
+      moves.add(MoveBuffer.encode(MoveBuffer.DISCARD_DRAW, 0, 0, 0));
+    }
+    return found;
+  }
+
+  /**
+   * Moves cards between cascade piles, copying only the two piles.
+   *
+   * @param srcPile  the 0-based index of the source pile
+   * @param numCards the number of cards to move
+   * @param destPile the 0-based index of the destination pile
+   * @return the state after the move
+   */
+  private KlondikeState movePileUnchecked(int srcPile, int numCards, int destPile) {
+    int[] src = this.piles[srcPile];
+    int[] dest = this.piles[destPile];
+    int[] newDest = Arrays.copyOf(dest, dest.length + numCards);
+    System.arraycopy(src, src.length - numCards, newDest, dest.length, numCards);
+
+    int[][] newPiles = this.piles.clone();
+    newPiles[srcPile] = Arrays.copyOf(src, src.length - numCards);
+    newPiles[destPile] = newDest;
+    int[] newFaceUp = this.firstFaceUp.clone();
+    revealTop(newFaceUp, srcPile, src.length - numCards);
+    return new KlondikeState(this, newPiles, newFaceUp, this.foundations, this.draw,
+        this.drawFront, this.score, this.drawPass, this.numDiscardedThisPass);
+  }
+
+  /**
+   * Moves the first draw card onto a cascade pile, copying only that pile and the draw pile.
+   *
+   * @param destPile the 0-based index of the destination pile
+   * @return the state after the move
+   */
+  private KlondikeState moveDrawUnchecked(int destPile) {
+    int[] dest = this.piles[destPile];
+    int[] newDest = Arrays.copyOf(dest, dest.length + 1);
+    newDest[dest.length] = drawCard(0);
+
+    int[][] newPiles = this.piles.clone();
+    newPiles[destPile] = newDest;
+    return new KlondikeState(this, newPiles, this.firstFaceUp, this.foundations,
+        removeFirstDrawCard(), 0, this.score, this.drawPass, this.numDiscardedThisPass);
+  }
+
+  /**
+   * Moves the top card of a cascade pile to a foundation pile, copying only that pile and the
+   * foundation tops.
+   *
+   * @param srcPile        the 0-based index of the source pile
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return the state after the move
+   */
+  private KlondikeState moveToFoundationUnchecked(int srcPile, int foundationPile) {
+    int[] src = this.piles[srcPile];
+    int[] newFoundations = this.foundations.clone();
+    newFoundations[foundationPile] = src[src.length - 1];
+
+    int[][] newPiles = this.piles.clone();
+    newPiles[srcPile] = Arrays.copyOf(src, src.length - 1);
+    int[] newFaceUp = this.firstFaceUp.clone();
+    revealTop(newFaceUp, srcPile, src.length - 1);
+    return new KlondikeState(this, newPiles, newFaceUp, newFoundations, this.draw,
+        this.drawFront, this.score + 1, this.drawPass, this.numDiscardedThisPass);
+  }
+
+  /**
+   * Moves the first draw card to a foundation pile, copying only the draw pile and the
+   * foundation tops.
+   *
+   * @param foundationPile the 0-based index of the foundation pile
+   * @return the state after the move
+   */
+  private KlondikeState moveDrawToFoundationUnchecked(int foundationPile) {
+    int[] newFoundations = this.foundations.clone();
+    newFoundations[foundationPile] = drawCard(0);
+    return new KlondikeState(this, this.piles, this.firstFaceUp, newFoundations,
+        removeFirstDrawCard(), 0, this.score + 1, this.drawPass, this.numDiscardedThisPass);
+  }
+
+  /**
+   * Discards the first draw card by the discard rule of this state's variant (see
+   * {@link BasicKlondike#discardRule(int, int, int)}). Only moving a card to the back shares
+   * the draw pile.
+   *
+   * @return the state after the discard
+   */
+  private KlondikeState discardDrawUnchecked() {
+    DrawDiscard discard = this.rules.discardRule(this.drawPass, this.numDiscardedThisPass,
+        this.draw.length);
+    if (discard.recycles()) {
+      return new KlondikeState(this, this.piles, this.firstFaceUp, this.foundations, this.draw,
+          (this.drawFront + 1) % this.draw.length, this.score, discard.getDrawPass(),
+          discard.getNumDiscardedThisPass());
+    }
+    return new KlondikeState(this, this.piles, this.firstFaceUp, this.foundations,
+        removeFirstDrawCard(), 0, this.score, discard.getDrawPass(),
+        discard.getNumDiscardedThisPass());
+  }
+
+  /**
+   * Returns the draw cards after the first one, in order.
+   *
+   * @return a new array of the remaining draw cards
+   */
+  private int[] removeFirstDrawCard() {
+    int[] newDraw = new int[this.draw.length - 1];
+    for (int i = 0; i < newDraw.length; i++) {
+      newDraw[i] = drawCard(i + 1);
+    }
+    return newDraw;
+  }
+
+  /**
+   * Turns the new top card of a cascade pile face-up, if it was face-down.
+   *
+   * @param faceUp  the indices of the first face-up cards, which are updated
+   * @param pileNum the 0-based index of the pile
+   * @param height  the height of the pile
+   */
+  private static void revealTop(int[] faceUp, int pileNum, int height) {
+    faceUp[pileNum] = Math.min(faceUp[pileNum], Math.max(height - 1, 0));
+  }
+}
@@ -0,0 +1,161 @@
+package cs3500.klondike.model.hw02;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of moves, each encoded in a single {@code int}, that is filled in by
+ * {@link KlondikeModel#legalMoves(MoveBuffer)}.
+ *
+ * <p>A move is packed as its type, its source pile, the number of cards it moves and its
+ * destination pile. Piles are the same 0-based indices the model's move methods take: the
+ * source is a cascade pile (unused for moves from the draw pile) and the destination is a
+ * cascade or foundation pile depending on the type (unused for discards). Since the moves are
+ * plain integers, filling a buffer again only allocates when it has to grow past the most moves
+ * it has ever held.</p>
+ */
+public final class MoveBuffer {
+
+  // a move of cards from one cascade pile to another, as with movePile
+  public static final int PILE_TO_PILE = 0;
+  // a move of the top draw card to a cascade pile, as with moveDraw
+  public static final int DRAW_TO_PILE = 1;
+  // a move of the top card of a cascade pile to a foundation pile, as with moveToFoundation
+  public static final int PILE_TO_FOUNDATION = 2;
+  // a move of the top draw card to a foundation pile, as with moveDrawToFoundation
+  public static final int DRAW_TO_FOUNDATION = 3;
+  // a discard of the top draw card, as with discardDraw
+  public static final int DISCARD_DRAW = 4;
+
+  // the largest pile index that fits in an encoded move
+  public static final int MAX_PILE = (1 << 10) - 1;
+  // the most cards a single encoded move can move
+  public static final int MAX_CARDS = (1 << 8) - 1;
+
+  private static final int DEST_SHIFT = 0;
+  private static final int CARDS_SHIFT = 10;
+  private static final int SRC_SHIFT = 18;
+  private static final int TYPE_SHIFT = 28;
+
+  // the encoded moves, of which the first size are in the buffer
+  private int[] moves;
+  // the number of moves in the buffer
+  private int size;
+
+  /**
+   * Constructs an empty move buffer.
+   */
+  public MoveBuffer() {
+    this.moves = new int[64];
+    this.size = 0;
+  }
+
+  /**
+   * Encodes a move into a single integer.
+   *
+   * @param type     the type of the move, one of the type constants of this class
+   * @param src      the source cascade pile, or 0 if the move has none
+   * @param numCards the number of cards moved
+   * @param dest     the destination pile, or 0 if the move has none
+   * @return the encoded move
+   * @throws IllegalArgumentException if a part of the move does not fit in the encoding
+   */
+  public static int encode(int type, int src, int numCards, int dest) {
+    if (type < PILE_TO_PILE || type > DISCARD_DRAW || src < 0 || src > MAX_PILE
+        || numCards < 0 || numCards > MAX_CARDS || dest < 0 || dest > MAX_PILE) {
+      throw new IllegalArgumentException("move cannot be encoded");
+    }
+    return (type << TYPE_SHIFT) | (src << SRC_SHIFT) | (numCards << CARDS_SHIFT)
+        | (dest << DEST_SHIFT);
+  }
+
+  /**
+   * Returns the type of an encoded move.
+   *
+   * @param move the encoded move
+   * @return one of the type constants of this class
+   */
+  public static int type(int move) {
+    return move >>> TYPE_SHIFT;
+  }
+
+  /**
+   * Returns the source cascade pile of an encoded move.
+   *
+   * @param move the encoded move
+   * @return the 0-based index of the source pile
+   */
+  public static int source(int move) {
+    return (move >>> SRC_SHIFT) & MAX_PILE;
+  }
+
+  /**
+   * Returns the number of cards an encoded move moves.
+   *
+   * @param move the encoded move
+   * @return the number of cards moved
+   */
+  public static int numCards(int move) {
+    return (move >>> CARDS_SHIFT) & MAX_CARDS;
+  }
+
+  /**
+   * Returns the destination pile of an encoded move.
+   *
+   * @param move the encoded move
+   * @return the 0-based index of the destination cascade or foundation pile
+   */
+  public static int destination(int move) {
+    return (move >>> DEST_SHIFT) & MAX_PILE;
+  }
+
+  /**
+   * Returns the number of moves in the buffer.
+   *
+   * @return the number of moves
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Determines if there are no moves in the buffer.
+   *
+   * @return true if the buffer is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Returns the encoded move at the given position of the buffer.
+   *
+   * @param index the 0-based position of the move
+   * @return the encoded move
+   * @throws IndexOutOfBoundsException if the index is not in the buffer
+   */
+  public int get(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("index not in the move buffer");
+    }
+    return this.moves[index];
+  }
+
+  /**
+   * Adds an encoded move to the end of the buffer.
+   *
+   * @param move the encoded move
+   */
+  public void add(int move) {
+    if (this.size == this.moves.length) {
+      this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+    }
+    this.moves[this.size++] = move;
+  }
+
+  /**
+   * Removes every move from the buffer, keeping its capacity.
+   */
+  public void clear() {
+    this.size = 0;
+  }
+}
@@ -0,0 +1,260 @@
+package cs3500.klondike.model.hw02;
+
+import java.util.Arrays;
+
+/**
+ * Counts, for a game of Klondike, which cards the piles need and which cards can be moved, so
+ * that whether any move between the piles is left can be answered without looking at the
+ * piles.
+ *
+ * <p>Cascade moves are matched by placement key (see {@link BasicKlondike#placementKey(int)}):
+ * every non-empty cascade pile needs the key of the card that could be placed on its top, and
+ * every movable card of a cascade pile offers its own key. Foundation moves are matched by card
+ * code: every foundation pile needs the next card of its suit, and the top card of every
+ * cascade pile offers itself. For every key and code the index keeps how many piles need it and
+ * how many piles offer it, along with the number of keys and codes that are both needed and
+ * offered, so each card added or removed updates the index in constant time.</p>
+ *
+ * <p>The index also links the cascade piles that need each placement key into a list, with
+ * one more list for the empty piles, so the piles a card can be placed on are found without
+ * looking at the others.</p>
+ */
+final class MoveIndex {
+
+  // the number of different placement keys
+  static final int NUM_KEYS = CardImpl.NUM_VALUES * 2;
+  // the list of the empty cascade piles, after the list of each placement key
+  private static final int EMPTY_PILES = NUM_KEYS;
+  // marks the end of a list of piles, or a pile that is in no list
+  static final int NO_PILE = -1;
+
+  // the number of cascade pile tops that need a card of each placement key
+  private final int[] neededByPiles;
+  // the number of movable cascade cards with each placement key
+  private final int[] movableCards;
+  // the number of placement keys that are both needed and movable
+  private int cascadeMatches;
+  // the number of empty cascade piles
+  private int numEmptyPiles;
+  // the number of movable cascade cards that may be placed on an empty pile
+  private int emptyPileCards;
+  // the first pile of the list of each placement key and of the empty piles
+  private final int[] firstPile;
+  // the next and previous pile of the list each pile is in
+  private final int[] nextPile;
+  private final int[] prevPile;
+
+  // the number of foundation piles that need each card code next
+  private final int[] neededByFoundations;
+  // the number of cascade piles with each card code on top
+  private final int[] pileTops;
+  // the number of card codes that are both needed by a foundation and on top of a cascade pile
+  private int foundationMatches;
+  // the number of empty foundation piles
+  private int numEmptyFoundations;
+  // the number of cascade piles with an ace on top
+  private int aceTops;
+
+  /**
+   * Constructs an index of a game with the given number of cascade piles, none of which
+   * have been added yet.
+   *
+   * @param numPiles the number of cascade piles
+   */
+  MoveIndex(int numPiles) {
+    this.firstPile = new int[NUM_KEYS + 1];
+    Arrays.fill(this.firstPile, NO_PILE);
+    this.nextPile = new int[numPiles];
+    this.prevPile = new int[numPiles];
+    this.neededByPiles = new int[NUM_KEYS];
+    this.movableCards = new int[NUM_KEYS];
+    this.neededByFoundations = new int[CardImpl.NUM_CODES];
+    this.pileTops = new int[CardImpl.NUM_CODES];
+  }
+
+  /**
+   * Constructs a copy of the given index.
+   *
+   * @param other the index to copy
+   */
+  MoveIndex(MoveIndex other) {
+    this.neededByPiles = other.neededByPiles.clone();
+    this.movableCards = other.movableCards.clone();
+    this.cascadeMatches = other.cascadeMatches;
+    this.numEmptyPiles = other.numEmptyPiles;
+    this.emptyPileCards = other.emptyPileCards;
+    this.firstPile = other.firstPile.clone();
+    this.nextPile = other.nextPile.clone();
+    this.prevPile = other.prevPile.clone();
+    this.neededByFoundations = other.neededByFoundations.clone();
+    this.pileTops = other.pileTops.clone();
+    this.foundationMatches = other.foundationMatches;
+    this.numEmptyFoundations = other.numEmptyFoundations;
+    this.aceTops = other.aceTops;
+  }
+
+  /**
+   * Adds or removes a cascade pile whose top needs a card of the given placement key.
+   *
+   * @param pile the 0-based index of the cascade pile
+   * @param key the placement key of the needed card
+   * @param delta 1 to add the need, -1 to remove it
+   */
+  void updateNeededByPile(int pile, int key, int delta) {
+    this.cascadeMatches -= matches(this.neededByPiles[key], this.movableCards[key]);
+    this.neededByPiles[key] += delta;
+    this.cascadeMatches += matches(this.neededByPiles[key], this.movableCards[key]);
+    updateList(pile, key, delta);
+  }
+
+  /**
+   * Adds or removes a movable cascade card.
+   *
+   * @param key the placement key of the card
+   * @param emptyPileCard whether the card may be placed on an empty cascade pile
+   * @param delta 1 to add the card, -1 to remove it
+   */
+  void updateMovableCard(int key, boolean emptyPileCard, int delta) {
+    this.cascadeMatches -= matches(this.neededByPiles[key], this.movableCards[key]);
+    this.movableCards[key] += delta;
+    this.cascadeMatches += matches(this.neededByPiles[key], this.movableCards[key]);
+    if (emptyPileCard) {
+      this.emptyPileCards += delta;
+    }
+  }
+
+  /**
+   * Adds or removes an empty cascade pile.
+   *
+   * @param pile the 0-based index of the cascade pile
+   * @param delta 1 to add the pile, -1 to remove it
+   */
+  void updateEmptyPile(int pile, int delta) {
+    this.numEmptyPiles += delta;
+    updateList(pile, EMPTY_PILES, delta);
+  }
+
+  /**
+   * Adds or removes a foundation pile that needs the given card next.
+   *
+   * @param code the code of the needed card
+   * @param delta 1 to add the need, -1 to remove it
+   */
+  void updateNeededByFoundation(int code, int delta) {
+    this.foundationMatches -= matches(this.neededByFoundations[code], this.pileTops[code]);
+    this.neededByFoundations[code] += delta;
+    this.foundationMatches += matches(this.neededByFoundations[code], this.pileTops[code]);
+  }
+
+  /**
+   * Adds or removes an empty foundation pile, which needs any ace.
+   *
+   * @param delta 1 to add the pile, -1 to remove it
+   */
+  void updateEmptyFoundation(int delta) {
+    this.numEmptyFoundations += delta;
+  }
+
+  /**
+   * Adds or removes the top card of a cascade pile.
+   *
+   * @param code the code of the top card
+   * @param delta 1 to add the card, -1 to remove it
+   */
+  void updatePileTop(int code, int delta) {
+    this.foundationMatches -= matches(this.neededByFoundations[code], this.pileTops[code]);
+    this.pileTops[code] += delta;
+    this.foundationMatches += matches(this.neededByFoundations[code], this.pileTops[code]);
+    if (CardImpl.value(code) == 1) {
+      this.aceTops += delta;
+    }
+  }
+
+  /**
+   * Determines if some movable cards of a cascade pile can be moved to another cascade pile.
+   *
+   * @return true if there is a move between cascade piles, false otherwise
+   */
+  boolean hasCascadeMove() {
+    return this.cascadeMatches > 0 || (this.numEmptyPiles > 0 && this.emptyPileCards > 0);
+  }
+
+  /**
+   * Determines if the top card of some cascade pile can be moved to a foundation pile.
+   *
+   * @return true if there is a move from a cascade pile to a foundation pile, false otherwise
+   */
+  boolean hasFoundationMove() {
+    return this.foundationMatches > 0 || (this.numEmptyFoundations > 0 && this.aceTops > 0);
+  }
+
+  /**
+   * Returns the first cascade pile whose top needs a card of the given placement key.
+   *
+   * @param key the placement key of the card to place
+   * @return the 0-based index of the pile, or {@link #NO_PILE} if no pile needs the card
+   */
+  int firstPileNeeding(int key) {
+    return this.firstPile[key];
+  }
+
+  /**
+   * Returns the first empty cascade pile.
+   *
+   * @return the 0-based index of the pile, or {@link #NO_PILE} if no pile is empty
+   */
+  int firstEmptyPile() {
+    return this.firstPile[EMPTY_PILES];
+  }
+
+  /**
+   * Returns the pile after the given one in the list of piles that need the same placement
+   * key, or in the list of empty piles.
+   *
+   * @param pile the 0-based index of a pile in a list
+   * @return the 0-based index of the next pile, or {@link #NO_PILE} at the end of the list
+   */
+  int nextPile(int pile) {
+    return this.nextPile[pile];
+  }
+
+  /**
+   * Adds a pile to the front of a list, or unlinks it from that list.
+   *
+   * @param pile the 0-based index of the pile
+   * @param list the placement key of the list, or EMPTY_PILES
+   * @param delta 1 to add the pile, -1 to remove it
+   */
+  private void updateList(int pile, int list, int delta) {
+    if (delta > 0) {
+      this.prevPile[pile] = NO_PILE;
+      this.nextPile[pile] = this.firstPile[list];
+      if (this.firstPile[list] != NO_PILE) {
+        this.prevPile[this.firstPile[list]] = pile;
+      }
+      this.firstPile[list] = pile;
+    } else {
+      int prev = this.prevPile[pile];
+      int next = this.nextPile[pile];
+      if (prev == NO_PILE) {
+        this.firstPile[list] = next;
+      } else {
+        this.nextPile[prev] = next;
+      }
+      if (next != NO_PILE) {
+        this.prevPile[next] = prev;
+      }
+    }
+  }
+
+  /**
+   * Returns 1 if something is both needed and offered, and 0 otherwise.
+   *
+   * @param needed the number of piles that need it
+   * @param offered the number of piles that offer it
+   * @return whether it is a match, as a count
+   */
+  private static int matches(int needed, int offered) {
+    return (needed > 0 && offered > 0) ? 1 : 0;
+  }
+}
@@ -0,0 +1,174 @@
+package cs3500.klondike.model.hw02;
+
+import java.util.Arrays;
+
+/**
+ * The history of the moves made in a game of Klondike, kept so that they can be undone and
+ * redone. Every move is one {@code long} entry: the move as encoded by {@link MoveBuffer},
+ * and what else it changed that cannot be read back from the piles, namely whether it turned
+ * a card face-up, which card it discarded for good and whether it ended a pass through the
+ * draw pile. A thousand moves take eight kilobytes.
+ *
+ * <p>Undoing a move keeps its entry after the current position, so it can be redone. Making
+ * a move that is not the next one to redo forgets the rest of those entries.</p>
+ */
+final class MoveJournal {
+
+  // the move as encoded by MoveBuffer, which is never negative
+  private static final long MOVE_MASK = 0xFFFFFFFFL;
+  // the move turned the card under the moved cards face-up
+  private static final long FLIPPED = 1L << 32;
+  // the discard ended a pass through the draw pile
+  private static final long ENDED_PASS = 1L << 33;
+  // the discard removed the draw card for good, whose code is stored at CARD_SHIFT
+  private static final long REMOVED = 1L << 34;
+  private static final int CARD_SHIFT = 40;
+
+  // the entries, of which the first size are moves to undo and the ones up to limit are
+  // moves to redo
+  private long[] entries;
+  private int size;
+  private int limit;
+
+  /**
+   * Constructs an empty journal.
+   */
+  MoveJournal() {
+    this.entries = new long[64];
+    this.size = 0;
+    this.limit = 0;
+  }
+
+  /**
+   * Constructs a copy of the given journal.
+   *
+   * @param other the journal to copy
+   */
+  MoveJournal(MoveJournal other) {
+    this.entries = Arrays.copyOf(other.entries, Math.max(other.limit, 1));
+    this.size = other.size;
+    this.limit = other.limit;
+  }
+
+  /**
+   * Returns the entry of a move.
+   *
+   * @param move    the move, as encoded by {@link MoveBuffer#encode(int, int, int, int)}
+   * @param flipped whether the move turned a card of its source pile face-up
+   * @return the entry
+   */
+  static long entry(int move, boolean flipped) {
+    return move | (flipped ? FLIPPED : 0);
+  }
+
+  /**
+   * Returns the entry of a discard of the front draw card.
+   *
+   * @param removedCard the code of the card if it was discarded for good, or -1 if it was
+   *                    moved to the back of the draw pile
+   * @param endedPass   whether the discard ended a pass through the draw pile
+   * @return the entry
+   */
+  static long discardEntry(int removedCard, boolean endedPass) {
+    long entry = MoveBuffer.encode(MoveBuffer.DISCARD_DRAW, 0, 0, 0);
+    if (removedCard >= 0) {
+      entry |= REMOVED | ((long) removedCard << CARD_SHIFT);
+    }
+    return entry | (endedPass ? ENDED_PASS : 0);
+  }
+
+  /**
+   * Returns the move of an entry.
+   *
+   * @param entry the entry
+   * @return the move, as encoded by {@link MoveBuffer}
+   */
+  static int move(long entry) {
+    return (int) (entry & MOVE_MASK);
+  }
+
+  /**
+   * Determines if the move of an entry turned a card of its source pile face-up.
+   *
+   * @param entry the entry
+   * @return true if a card was turned face-up, false otherwise
+   */
+  static boolean flipped(long entry) {
+    return (entry & FLIPPED) != 0;
+  }
+
+  /**
+   * Determines if the discard of an entry ended a pass through the draw pile.
+   *
+   * @param entry the entry
+   * @return true if the pass ended, false otherwise
+   */
+  static boolean endedPass(long entry) {
+    return (entry & ENDED_PASS) != 0;
+  }
+
+  /**
+   * Returns the card the discard of an entry removed for good.
+   *
+   * @param entry the entry
+   * @return the code of the removed card, or -1 if the card was moved to the back of the draw
+   *         pile
+   */
+  static int removedCard(long entry) {
+    return (entry & REMOVED) != 0 ? (int) (entry >>> CARD_SHIFT) : -1;
+  }
+
+  /**
+   * Records a move that was just made. If it is the next move to redo, the moves to redo after
+   * it are kept, since the game is in the same state as when they were made.
+   *
+   * @param entry the entry of the move
+   */
+  void record(long entry) {
+    if (this.size < this.limit && this.entries[this.size] == entry) {
+      this.size++;
+      return;
+    }
+    if (this.size == this.entries.length) {
+      this.entries = Arrays.copyOf(this.entries, this.entries.length * 2);
+    }
+    this.entries[this.size++] = entry;
+    this.limit = this.size;
+  }
+
+  /**
+   * Determines if there is a move to undo.
+   *
+   * @return true if a move has been made and not undone, false otherwise
+   */
+  boolean canUndo() {
+    return this.size > 0;
+  }
+
+  /**
+   * Determines if there is a move to redo.
+   *
+   * @return true if a move has been undone and not replaced, false otherwise
+   */
+  boolean canRedo() {
+    return this.size < this.limit;
+  }
+
+  /**
+   * Steps back over the last move made, which becomes the next move to redo.
+   *
+   * @return the entry of the move to undo
+   */
+  long undo() {
+    return this.entries[--this.size];
+  }
+
+  /**
+   * Returns the next move to redo, which is recorded again once it is made.
+   *
+   * @return the entry of the move to redo
+   */
+  long nextRedo() {
+    return this.entries[this.size];
+  }
+}
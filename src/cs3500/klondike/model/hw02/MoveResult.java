@@ -0,0 +1,65 @@
+package cs3500.klondike.model.hw02;
+
+/**
+ * The outcome of one of the {@code try} move methods of {@link KlondikeModel}. Every failure
+ * corresponds to the exception the matching throwing move method signals, so callers that play
+ * many moves can check a result instead of paying for an exception on every illegal move.
+ */
+public enum MoveResult {
+  // the move was made
+  SUCCESS(null),
+  // the game hasn't been started yet (an IllegalStateException)
+  GAME_NOT_STARTED("game has not been started yet"),
+  // a pile number is invalid, or the source and destination are the same pile
+  // (an IllegalArgumentException)
+  INVALID_PILE("pile number is invalid"),
+  // the source pile does not have that many visible cards to move (an IllegalArgumentException)
+  INVALID_CARDS("those cards cannot be moved"),
+  // there is no card to move from the source pile or the draw pile (an IllegalStateException)
+  NO_CARDS("there are no cards to move"),
+  // the move is not allowed by the rules of the game (an IllegalStateException)
+  NOT_ALLOWED("the move is not allowed by the rules of the game");
+
+  private final String message;
+
+  MoveResult(String message) {
+    this.message = message;
+  }
+
+  /**
+   * Determines if the move was made.
+   *
+   * @return true if this is {@link MoveResult#SUCCESS}, false otherwise
+   */
+  public boolean isSuccess() {
+    return this == SUCCESS;
+  }
+
+  /**
+   * Returns a description of why the move was not made.
+   *
+   * @return the description, or null if the move was made
+   */
+  public String getMessage() {
+    return this.message;
+  }
+
+  /**
+   * Throws the exception the throwing move methods signal for this result, if it is a failure.
+   *
+   * @throws IllegalArgumentException if a pile number or the cards to move are invalid
+   * @throws IllegalStateException    if the game hasn't started, there are no cards to move,
+   *                                  or the move is not allowed
+   */
+  public void throwIfFailed() throws IllegalArgumentException, IllegalStateException {
+    switch (this) {
+      case SUCCESS:
+        break;
+      case INVALID_PILE:
+      case INVALID_CARDS:
+        throw new IllegalArgumentException(this.message);
+      default:
+        throw new IllegalStateException(this.message);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package cs3500.klondike.model.hw02;
+
+/**
+ * The random keys that the Zobrist hash of a game of Klondike is made of (see
+ * {@link KlondikeModel#positionHash()}). The hash of a position is the exclusive or of the
+ * keys of everything in it, so adding or removing a card changes the hash by a single key. The
+ * draw pile is the exception: it folds the keys of its cards into a hash of its own that
+ * depends on their order.
+ *
+ * <p>Rather than tables of random numbers sized for the largest game, every key is the mix
+ * (see {@link DealGenerator#mix64(long)}) of a distinct number built from what it stands for.
+ * Mixing is a one-to-one function, so no two keys are the same, and the keys are the same in
+ * every game and on every platform.</p>
+ */
+final class ZobristKeys {
+
+  // the number of bits that tell the kinds of keys apart
+  private static final int KIND_BITS = 3;
+  private static final long CASCADE = 0;
+  private static final long BOUNDARY = 1;
+  private static final long FOUNDATION = 2;
+  private static final long DRAW_CARD = 3;
+  private static final long DRAW_PASS = 4;
+  // added before mixing so that no key is the mix of 0, which is 0
+  private static final long OFFSET = 0x9E3779B97F4A7C15L;
+
+  private ZobristKeys() {
+  }
+
+  /**
+   * Returns the key of a card at a position of a cascade pile.
+   *
+   * @param pile  the 0-based index of the pile
+   * @param depth the 0-based position of the card from the bottom of the pile
+   * @param code  the code of the card
+   * @return the key
+   */
+  static long cascade(int pile, int depth, int code) {
+    return key(CASCADE, ((long) pile << 32) | ((long) depth << 8) | code);
+  }
+
+  /**
+   * Returns the key of the first face-up card of a cascade pile being at the given position.
+   *
+   * @param pile        the 0-based index of the pile
+   * @param firstFaceUp the index of the first face-up card of the pile
+   * @return the key
+   */
+  static long boundary(int pile, int firstFaceUp) {
+    return key(BOUNDARY, ((long) pile << 32) | firstFaceUp);
+  }
+
+  /**
+   * Returns the key of a card being the top card of a foundation pile.
+   *
+   * @param foundation the 0-based index of the foundation pile
+   * @param code       the code of the top card, or -1 if the foundation pile is empty
+   * @return the key
+   */
+  static long foundation(int foundation, int code) {
+    return key(FOUNDATION, ((long) foundation << 8) | (code + 1));
+  }
+
+  /**
+   * Returns the key of a card of the draw pile, which the draw pile weighs by how far the card
+   * is from its front (see {@link DrawPile#hash()}).
+   *
+   * @param code the code of the card
+   * @return the key
+   */
+  static long drawCard(int code) {
+    return key(DRAW_CARD, code);
+  }
+
+  /**
+   * Returns the key of the pass through the draw pile a game is on.
+   *
+   * @param drawPass             the pass through the draw pile, counting from 1
+   * @param numDiscardedThisPass the number of cards discarded during that pass
+   * @return the key
+   */
+  static long drawPass(int drawPass, int numDiscardedThisPass) {
+    return key(DRAW_PASS, ((long) drawPass << 32) | numDiscardedThisPass);
+  }
+
+  /**
+   * Returns the key of a kind of thing described by a number.
+   *
+   * @param kind  the kind of the key
+   * @param value the number describing the thing, which fits in 61 bits
+   * @return the key
+   */
+  private static long key(long kind, long value) {
+    return DealGenerator.mix64(((value << KIND_BITS) | kind) + OFFSET);
+  }
+}
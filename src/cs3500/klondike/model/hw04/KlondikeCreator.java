@@ -49,4 +49,40 @@ public class KlondikeCreator {
         throw new IllegalArgumentException("Invalid game type");
     }
   }
+
+  /**
+   * Creates a Klondike game of the given type and starts it from a deal number, so the
+   * same arguments always give the same game.
+   *
+   * @param type the type of Klondike game to be created.
+   * @param dealSeed the deal number that determines the order of the cards.
+   * @param numPiles the number of cascade piles to deal.
+   * @param numDraw the maximum number of draw cards available at a time.
+   * @return a new, started instance of the specified Klondike game type.
+   * @throws IllegalArgumentException if an invalid game type or game size is provided.
+   */
+  public static KlondikeModel createDealt(GameType type, long dealSeed, int numPiles,
+      int numDraw) {
+    return createDealt(type, 2, dealSeed, numPiles, numDraw);
+  }
+
+  /**
+   * Creates a Klondike game of the given type and starts it from a deal number, so the
+   * same arguments always give the same game.
+   *
+   * @param type the type of Klondike game to be created.
+   * @param numTimesRedrawAllowed the number of times redraw is allowed in a LIMITED game.
+   *                              This parameter is ignored for other game types.
+   * @param dealSeed the deal number that determines the order of the cards.
+   * @param numPiles the number of cascade piles to deal.
+   * @param numDraw the maximum number of draw cards available at a time.
+   * @return a new, started instance of the specified Klondike game type.
+   * @throws IllegalArgumentException if an invalid game type or game size is provided.
+   */
+  public static KlondikeModel createDealt(GameType type, int numTimesRedrawAllowed,
+      long dealSeed, int numPiles, int numDraw) {
+    KlondikeModel model = createKlondike(type, numTimesRedrawAllowed);
+    model.startGame(dealSeed, numPiles, numDraw);
+    return model;
+  }
 }
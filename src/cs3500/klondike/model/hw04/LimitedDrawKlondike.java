@@ -2,6 +2,8 @@ package cs3500.klondike.model.hw04;
 
 import cs3500.klondike.model.hw02.KlondikeModel;
 import cs3500.klondike.model.hw02.BasicKlondike;
+import cs3500.klondike.model.hw02.DrawDiscard;
+import cs3500.klondike.model.hw02.MoveResult;
 
 
 /**
@@ -35,28 +37,101 @@ public class LimitedDrawKlondike extends BasicKlondike implements KlondikeModel
   }
 
   /**
-   * Discards the top card from the draw pile. If the draw pile has not been
-   * cycled through more than the allowed number of times, the discarded card
-   * is added to the back of the draw pile. Otherwise, the card is permanently
-   * discarded.
+   * Constructs a copy of the given game in its current state, including how many times its
+   * draw pile has been redrawn.
    *
-   * @throws IllegalStateException if the operation is not allowed.
+   * @param other the game to copy
    */
+  protected LimitedDrawKlondike(LimitedDrawKlondike other) {
+    super(other);
+    this.numTimesDDAllowed = other.numTimesDDAllowed;
+    this.numCycles = other.numCycles;
+    this.numEachCardDD = other.numEachCardDD;
+  }
+
+  @Override
+  public KlondikeModel copy() {
+    return new LimitedDrawKlondike(this);
+  }
+
+  @Override
+  protected BasicKlondike newGameWithSameRules() {
+    return new LimitedDrawKlondike(numTimesDDAllowed - 1);
+  }
+
   @Override
-  public void discardDraw() throws IllegalStateException {
-    validateDiscardDraw();
+  protected int numDrawPassesAllowed() {
+    return numTimesDDAllowed;
+  }
 
-    if (numCycles < numTimesDDAllowed) {
-      discardTheDrawCard(true);
-      numEachCardDD++;
-      if (numEachCardDD == deck.size()) {
-        numCycles++;
-        numEachCardDD = 0;
+  @Override
+  protected int drawPass() {
+    return numCycles;
+  }
+
+  @Override
+  protected int numDiscardedThisPass() {
+    return numEachCardDD;
+  }
+
+  /**
+   * Decides what discarding the top card of the draw pile does. While the draw pile has not
+   * been cycled through the allowed number of times, the card goes to the back of the draw
+   * pile, and discarding its last card this cycle starts the next cycle. On the last cycle
+   * the card is removed for good.
+   *
+   * @param drawPass             the cycle through the draw pile the game is on
+   * @param numDiscardedThisPass the number of cards discarded during that cycle
+   * @param drawSize             the number of cards in the draw pile
+   * @return what the discard does
+   */
+  @Override
+  protected DrawDiscard discardRule(int drawPass, int numDiscardedThisPass, int drawSize) {
+    if (drawPass < numTimesDDAllowed) {
+      if (numDiscardedThisPass + 1 == drawSize) {
+        return new DrawDiscard(drawPass + 1, 0, true);
       }
+      return new DrawDiscard(drawPass, numDiscardedThisPass + 1, true);
     }
-    else if (numCycles == numTimesDDAllowed) {
-      discardTheDrawCard(false);
-      numEachCardDD++;
+    return new DrawDiscard(drawPass, numDiscardedThisPass + 1, false);
+  }
+
+  /**
+   * Restores how many times the draw pile has been recycled, and how many cards were
+   * discarded during the current cycle, to what they were before a discard being undone.
+   *
+   * @param endedPass whether the discard ended a cycle through the draw pile
+   */
+  @Override
+  protected void undoDrawPass(boolean endedPass) {
+    if (endedPass) {
+      numCycles--;
+      // the cycle ended on its last card, which is back in the draw pile
+      numEachCardDD = deck.size() - 1;
+    } else {
+      numEachCardDD--;
     }
   }
+
+  /**
+   * Discards the top card from the draw pile by {@link #discardRule(int, int, int)}. If the
+   * draw pile has not been cycled through more than the allowed number of times, the
+   * discarded card is added to the back of the draw pile. Otherwise, the card is permanently
+   * discarded.
+   *
+   * @return {@link MoveResult#SUCCESS} if the card was discarded, or the reason it was not.
+   */
+  @Override
+  public MoveResult tryDiscardDraw() {
+    MoveResult validDiscard = validateDiscardDraw();
+    if (!validDiscard.isSuccess()) {
+      return validDiscard;
+    }
+
+    DrawDiscard discard = discardRule(numCycles, numEachCardDD, deck.size());
+    discardTheDrawCard(discard.recycles(), discard.getDrawPass() > numCycles);
+    numCycles = discard.getDrawPass();
+    numEachCardDD = discard.getNumDiscardedThisPass();
+    return MoveResult.SUCCESS;
+  }
 }
@@ -1,11 +1,9 @@
 package cs3500.klondike.model.hw04;
 
 import cs3500.klondike.model.hw02.BasicKlondike;
-import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CascadePile;
 import cs3500.klondike.model.hw02.KlondikeModel;
-import cs3500.klondike.model.hw02.Card;
-
-import java.util.List;
 
 /**
  * Represents the Whitehead variant of the Klondike solitaire game.
@@ -21,6 +19,20 @@ public class WhiteheadKlondike extends BasicKlondike implements KlondikeModel {
     super();
   }
 
+  /**
+   * Constructs a copy of the given Whitehead game in its current state.
+   *
+   * @param other the game to copy
+   */
+  protected WhiteheadKlondike(WhiteheadKlondike other) {
+    super(other);
+  }
+
+  @Override
+  public KlondikeModel copy() {
+    return new WhiteheadKlondike(this);
+  }
+
 
   /**
    * Makes all the cards in the cascade piles visible.
@@ -29,120 +41,70 @@ public class WhiteheadKlondike extends BasicKlondike implements KlondikeModel {
    */
   @Override
   protected void makeCardsVisibleInCascadesToGame() {
-    for (List<Card> pile : this.cascadePiles) {
-      if (!pile.isEmpty()) {
-        for (Card c : pile) {
-          c.makeVisible();
-        }
-      }
+    for (CascadePile pile : this.cascadePiles) {
+      pile.revealAll();
     }
   }
 
+  @Override
+  protected BasicKlondike newGameWithSameRules() {
+    return new WhiteheadKlondike();
+  }
+
   /**
-   * Validates a list of cards to be moved in the Whitehead variant of the Klondike game.
-   * Ensures that the cards being moved are consecutive and of the same suit. If the cards
-   * are not valid for moving, it throws an exception.
+   * Determines if a card continues a Whitehead run: it has the same suit as the card below it
+   * and is one lower.
    *
-   * @param cardsBeingMoved the list of cards intended to be moved
-   * @throws IllegalStateException if the cards are not valid for moving
-   *         in the Whitehead game variant
+   * @param lower the code of the card below
+   * @param upper the code of the card on top of it
+   * @return true if the two cards can be moved together, false otherwise
    */
-  private void validateWhiteHeadCardsBeingMoved(List<Card> cardsBeingMoved) {
-
-    boolean validCards = true;
-    Suit suit = cardsBeingMoved.get(0).getSuit();
-    int consecutive = cardsBeingMoved.get(0).getValue();
-
-    // makes sure cards being moved are valid:
-    if (cardsBeingMoved.isEmpty()) {
-      validCards = false;
-    }
-
-    for (int i = 1; i < cardsBeingMoved.size(); i++) {
-      Card c = cardsBeingMoved.get(i);
-      if (!c.getSuit().equals(suit)) {
-        validCards = false;
-      }
-      if ((c.getValue() + 1) != consecutive) {
-        validCards = false;
-      }
-      consecutive = c.getValue();
-    }
-
-    if (!validCards) {
-      throw new IllegalStateException("the cards being moved are not valid in whitehead mp");
-    }
+  @Override
+  protected boolean continuesRun(int lower, int upper) {
+    return CardImpl.suit(lower) == CardImpl.suit(upper) && isOneApart(lower, upper);
   }
 
   /**
-   * Validates if a list of cards from one cascade pile can be moved to another
-   * according to the Whitehead Klondike rules.
+   * Determines if moving a card to a foundation pile is safe. In the Whitehead variant cards
+   * are built down in the same color, so that holds for an ace, a two, or a card whose
+   * same-color cards one lower are on foundation piles.
    *
-   * @param cards The list of cards to be moved.
-   * @param destPile The destination cascade pile.
-   * @return True if the cards can be moved, false otherwise.
+   * @param card        the code of a card that can be moved to a foundation pile
+   * @param foundations the code of the top card of each foundation pile, or
+   *                    {@link #EMPTY_FOUNDATION}
+   * @return true if the card is safe to move, false otherwise
    */
   @Override
-  protected boolean canMoveCardsToCascadePile(List<Card> cards,
-      List<Card> destPile) {
-
-    validateWhiteHeadCardsBeingMoved(cards);
-
-    if (destPile.isEmpty()) {
-      return true;
-    }
-
-    // get the top card of the cascade pile:
-    Card topCardOfDestinationPile = destPile.get(destPile.size() - 1);
-    // get the bottom card of the cards being moved
-    Card bottomCardOfCardsMoved = cards.get(0);
-
-    boolean diffColors = !trueIfDifferentColor(topCardOfDestinationPile, bottomCardOfCardsMoved);
-    boolean oneApart = isOneApart(topCardOfDestinationPile, bottomCardOfCardsMoved);
-
-    return diffColors && oneApart;
-
+  protected boolean isSafeOnFoundation(int card, int[] foundations) {
+    return CardImpl.value(card) <= 2 || foundationsReach(foundations, CardImpl.value(card) - 1,
+        CardImpl.isRed(card));
   }
 
   /**
-   * Checks if any cards from one cascade pile can be moved to another.
+   * Determines if a card can be placed on an empty cascade pile. In the Whitehead variant
+   * any card can.
    *
-   * @return True if there's a valid move between any two cascade piles, false otherwise.
+   * @param bottomCardOfCardsMoved The code of the card being placed.
+   * @return True, since any card can be placed on an empty pile.
    */
   @Override
-  protected boolean checkPossibleCascadeCascade() {
-    for (int i = 0; i < this.cascadePiles.size(); i++) {
-      for (int j = 0; j < this.cascadePiles.size(); j++) {
-        if (i != j && canMoveBetweenCascadePiles(i, j)) {
-          return true;
-        }
-      }
-    }
-    return false;
+  protected boolean canPlaceOnEmptyPile(int bottomCardOfCardsMoved) {
+    return true;
   }
 
   /**
-   * Validates if a list of cards from one cascade pile can be moved to another
-   * cascade pile according to the Whitehead Klondike rules.
+   * Returns the placement key of the card that can be placed on the given top card of a
+   * cascade pile. In the Whitehead variant that is the card one below it of the same color.
    *
-   * @param srcIndex The index of the source cascade pile.
-   * @param destIndex The index of the destination cascade pile.
-   * @return True if the cards from the source pile can be moved to
-   *          the destination pile, false otherwise.
+   * @param topCardOfDestinationPile The code of the top card of the destination pile.
+   * @return The placement key of the needed card, or -1 if no card can be placed on it.
    */
-  private boolean canMoveBetweenCascadePiles(int srcIndex, int destIndex) {
-    List<Card> srcPile = this.cascadePiles.get(srcIndex);
-    List<Card> destPile = this.cascadePiles.get(destIndex);
-
-    // Check each card of the source pile if it can be moved to the destination pile
-    for (int i = 0; i < srcPile.size(); i++) {
-      List<Card> cardsToMove = srcPile.subList(i, srcPile.size());
-      if (canMoveCardsToCascadePile(cardsToMove, destPile)) {
-        return true;
-      }
+  @Override
+  protected int neededKey(int topCardOfDestinationPile) {
+    int value = CardImpl.value(topCardOfDestinationPile);
+    if (value == 1) {
+      return -1;
     }
-
-    return false;
+    return placementKey(value - 1, CardImpl.isRed(topCardOfDestinationPile));
   }
 }
-
@@ -0,0 +1,25 @@
+package cs3500.klondike.simulation;
+
+import cs3500.klondike.model.hw02.DealGenerator;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+
+/**
+ * A way of playing Klondike without knowing where the face-down cards are, used by
+ * {@link MonteCarloSimulator} to play games on its own. One policy plays games on several
+ * threads at once, so it must keep no state between calls.
+ */
+public interface BotPolicy {
+
+  /**
+   * Chooses the next move to play in a game.
+   *
+   * @param game   the game, which the policy must not change
+   * @param legal  the legal moves of the game, which is not empty
+   * @param random the random numbers of this game, for policies that choose between moves at
+   *               random
+   * @return one of the legal moves, encoded as by {@link MoveBuffer}, or -1 to give up the
+   *         game
+   */
+  int chooseMove(KlondikeModel game, MoveBuffer legal, DealGenerator random);
+}
@@ -0,0 +1,95 @@
+package cs3500.klondike.simulation;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.DealGenerator;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+
+/**
+ * A policy that plays the first kind of move it can from a fixed order of preference: moving a
+ * card to a foundation pile, moving cards off a face-down card, off a card that can then go to
+ * a foundation pile or out of a pile, moving the draw card to a cascade pile, and last
+ * discarding the draw card. Between moves of the same kind it chooses at random. It never
+ * moves cards between cascade piles otherwise, since that can undo itself forever, and gives
+ * up when no move it would play is left.
+ */
+public class GreedyBot implements BotPolicy {
+
+  // the preference of the kinds of moves, from the most preferred
+  private static final int FOUNDATION = 3;
+  private static final int REVEALING = 2;
+  private static final int FROM_DRAW = 1;
+  private static final int DISCARD = 0;
+  // a move that is never played
+  private static final int NEVER = -1;
+
+  @Override
+  public int chooseMove(KlondikeModel game, MoveBuffer legal, DealGenerator random) {
+    int best = NEVER;
+    int choice = -1;
+    int numBest = 0;
+    for (int i = 0; i < legal.size(); i++) {
+      int move = legal.get(i);
+      int preference = preference(game, move);
+      if (preference > best) {
+        best = preference;
+        choice = move;
+        numBest = 1;
+      } else if (preference == best && preference != NEVER
+          && random.nextInt(++numBest) == 0) {
+        // each of the numBest moves seen so far is kept with the same chance
+        choice = move;
+      }
+    }
+    return choice;
+  }
+
+  /**
+   * Returns how much this policy prefers a legal move.
+   *
+   * @param game the game the move is legal in
+   * @param move the encoded move
+   * @return the preference, or NEVER if the move is never played
+   */
+  private static int preference(KlondikeModel game, int move) {
+    switch (MoveBuffer.type(move)) {
+      case MoveBuffer.PILE_TO_FOUNDATION:
+      case MoveBuffer.DRAW_TO_FOUNDATION:
+        return FOUNDATION;
+      case MoveBuffer.DRAW_TO_PILE:
+        return FROM_DRAW;
+      case MoveBuffer.DISCARD_DRAW:
+        return DISCARD;
+      default:
+        int below = game.getPileHeight(MoveBuffer.source(move)) - MoveBuffer.numCards(move) - 1;
+        if (below < 0) {
+          // emptying a pile only helps if the cards go onto another card
+          return game.getPileHeight(MoveBuffer.destination(move)) == 0 ? NEVER : REVEALING;
+        }
+        int src = MoveBuffer.source(move);
+        return !game.isCardVisible(src, below) || canGoToFoundation(game, game.getCardAt(src,
+            below)) ? REVEALING : NEVER;
+    }
+  }
+
+  /**
+   * Determines if a card could be moved to a foundation pile if it were on top.
+   *
+   * @param game the game
+   * @param card the card
+   * @return true if the card is an ace or the next card of a foundation pile, false otherwise
+   */
+  private static boolean canGoToFoundation(KlondikeModel game, Card card) {
+    if (card.getValue() == 1) {
+      return true;
+    }
+    for (int i = 0; i < game.getNumFoundations(); i++) {
+      Card top = game.getCardAt(i);
+      if (top != null && top.getSuit() == card.getSuit()
+          && top.getValue() == card.getValue() - 1) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
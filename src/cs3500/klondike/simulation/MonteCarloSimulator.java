@@ -0,0 +1,264 @@
+package cs3500.klondike.simulation;
+
+import cs3500.klondike.model.hw02.DealGenerator;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays many seeded deals of Klondike with a {@link BotPolicy} and totals how they went, to
+ * estimate how often games of a variant and size are won.
+ *
+ * <p>Deal i of a run is dealt from the deal number firstSeed + i (see
+ * {@link KlondikeCreator#createDealt(GameType, int, long, int, int)}), and the bot's random
+ * numbers for it come from a generator split off that deal number, so a run gives the same
+ * totals however many threads play it. The deals are split into chunks that the threads of a
+ * {@link ForkJoinPool} share with work stealing. Each chunk totals its games on its own and
+ * adds them to shared {@link LongAdder} counters once, so threads never wait on each
+ * other.</p>
+ *
+ * <p>A game ends when it is won, when no move is legal, or when the bot gives up. It also ends
+ * as a loss after a number of moves, or after a full pass through the draw pile of nothing but
+ * discards, since a bot that plays nothing else in a whole pass will not start to.</p>
+ */
+public class MonteCarloSimulator {
+
+  // how many deals one task plays instead of splitting them further
+  private static final int GAMES_PER_TASK = 256;
+  // more discards in a row than any draw pile has cards
+  private static final int MAX_DISCARDS_IN_A_ROW = 52;
+
+  private final ForkJoinPool pool;
+  private final BotPolicy policy;
+  private final int numTimesRedrawAllowed;
+  private final int numPiles;
+  private final int numDraw;
+  private final int maxMoves;
+
+  /**
+   * Constructs a simulator that plays on the common pool, which has a thread for every core.
+   *
+   * @param policy                how the games are played
+   * @param numTimesRedrawAllowed the number of times redraw is allowed in a LIMITED game
+   * @param numPiles              the number of cascade piles to deal
+   * @param numDraw               the maximum number of draw cards available at a time
+   * @param maxMoves              the most moves to play in one game
+   * @throws IllegalArgumentException if the policy is null or the move limit is not positive
+   */
+  public MonteCarloSimulator(BotPolicy policy, int numTimesRedrawAllowed, int numPiles,
+      int numDraw, int maxMoves) {
+    this(ForkJoinPool.commonPool(), policy, numTimesRedrawAllowed, numPiles, numDraw,
+        maxMoves);
+  }
+
+  /**
+   * Constructs a simulator that plays on the given pool.
+   *
+   * @param pool                  the pool to play on
+   * @param policy                how the games are played
+   * @param numTimesRedrawAllowed the number of times redraw is allowed in a LIMITED game
+   * @param numPiles              the number of cascade piles to deal
+   * @param numDraw               the maximum number of draw cards available at a time
+   * @param maxMoves              the most moves to play in one game
+   * @throws IllegalArgumentException if the pool or the policy is null or the move limit is
+   *                                  not positive
+   */
+  public MonteCarloSimulator(ForkJoinPool pool, BotPolicy policy, int numTimesRedrawAllowed,
+      int numPiles, int numDraw, int maxMoves) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+    if (policy == null) {
+      throw new IllegalArgumentException("policy cannot be null");
+    }
+    if (maxMoves <= 0) {
+      throw new IllegalArgumentException("move limit must be positive");
+    }
+    this.pool = pool;
+    this.policy = policy;
+    this.numTimesRedrawAllowed = numTimesRedrawAllowed;
+    this.numPiles = numPiles;
+    this.numDraw = numDraw;
+    this.maxMoves = maxMoves;
+  }
+
+  /**
+   * Plays a number of consecutive deals of a variant and totals how they went.
+   *
+   * @param type      the variant to play
+   * @param firstSeed the deal number of the first game
+   * @param numGames  the number of games to play
+   * @return the totals of the games
+   * @throws IllegalArgumentException if the type is null, the number of games is negative, or
+   *                                  the game size is invalid for the variant
+   */
+  public SimulationResult simulate(GameType type, long firstSeed, long numGames) {
+    if (type == null) {
+      throw new IllegalArgumentException("game type cannot be null");
+    }
+    if (numGames < 0) {
+      throw new IllegalArgumentException("number of games cannot be negative");
+    }
+    // deal one game first, so that an invalid size fails here rather than on every thread
+    KlondikeCreator.createDealt(type, this.numTimesRedrawAllowed, firstSeed, this.numPiles,
+        this.numDraw);
+    Run run = new Run(type, firstSeed, this.policy, this.numTimesRedrawAllowed, this.numPiles,
+        this.numDraw, this.maxMoves);
+    this.pool.invoke(new PlayTask(run, 0, numGames));
+    return new SimulationResult(run.numGames.sum(), run.numWins.sum(), run.scoreSum.sum(),
+        run.scoreSquareSum.sum(), run.winMovesSum.sum(), run.winMovesSquareSum.sum());
+  }
+
+  /**
+   * Plays the same deals of every variant and totals how they went for each.
+   *
+   * @param firstSeed the deal number of the first game
+   * @param numGames  the number of games to play of each variant
+   * @return the totals of the games of each variant
+   * @throws IllegalArgumentException if the number of games is negative, or the game size is
+   *                                  invalid for a variant
+   */
+  public Map<GameType, SimulationResult> simulateEveryType(long firstSeed, long numGames) {
+    Map<GameType, SimulationResult> results = new EnumMap<>(GameType.class);
+    for (GameType type : GameType.values()) {
+      results.put(type, simulate(type, firstSeed, numGames));
+    }
+    return results;
+  }
+
+  /**
+   * What the tasks of one run share: the games to play, how to play them, and the counters
+   * the tasks add their totals to.
+   */
+  private static final class Run {
+
+    private final GameType type;
+    private final long firstSeed;
+    private final BotPolicy policy;
+    private final int numTimesRedrawAllowed;
+    private final int numPiles;
+    private final int numDraw;
+    private final int maxMoves;
+    private final LongAdder numGames = new LongAdder();
+    private final LongAdder numWins = new LongAdder();
+    private final LongAdder scoreSum = new LongAdder();
+    private final LongAdder scoreSquareSum = new LongAdder();
+    private final LongAdder winMovesSum = new LongAdder();
+    private final LongAdder winMovesSquareSum = new LongAdder();
+
+    /**
+     * Constructs the shared state of a run that has not started.
+     *
+     * @param type                  the variant to play
+     * @param firstSeed             the deal number of the first game of the run
+     * @param policy                how the games are played
+     * @param numTimesRedrawAllowed the number of times redraw is allowed in a LIMITED game
+     * @param numPiles              the number of cascade piles to deal
+     * @param numDraw               the maximum number of draw cards available at a time
+     * @param maxMoves              the most moves to play in one game
+     */
+    Run(GameType type, long firstSeed, BotPolicy policy, int numTimesRedrawAllowed,
+        int numPiles, int numDraw, int maxMoves) {
+      this.type = type;
+      this.firstSeed = firstSeed;
+      this.policy = policy;
+      this.numTimesRedrawAllowed = numTimesRedrawAllowed;
+      this.numPiles = numPiles;
+      this.numDraw = numDraw;
+      this.maxMoves = maxMoves;
+    }
+  }
+
+  /**
+   * A task that plays a range of the deals of a run, splitting it in half while it is large.
+   */
+  private static final class PlayTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Run run;
+    private final long from;
+    private final long to;
+    // the totals of the games this task has played
+    private long numWins;
+    private long scoreSum;
+    private long scoreSquareSum;
+    private long winMovesSum;
+    private long winMovesSquareSum;
+
+    /**
+     * Constructs a task that has not started.
+     *
+     * @param run  the shared state of the run
+     * @param from the index in the run of the first deal to play
+     * @param to   the index in the run after the last deal to play
+     */
+    PlayTask(Run run, long from, long to) {
+      this.run = run;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > GAMES_PER_TASK) {
+        long middle = this.from + (this.to - this.from) / 2;
+        invokeAll(new PlayTask(this.run, this.from, middle),
+            new PlayTask(this.run, middle, this.to));
+        return;
+      }
+
+      MoveBuffer legal = new MoveBuffer();
+      for (long i = this.from; i < this.to; i++) {
+        play(this.run.firstSeed + i, legal);
+      }
+      this.run.numGames.add(this.to - this.from);
+      this.run.numWins.add(this.numWins);
+      this.run.scoreSum.add(this.scoreSum);
+      this.run.scoreSquareSum.add(this.scoreSquareSum);
+      this.run.winMovesSum.add(this.winMovesSum);
+      this.run.winMovesSquareSum.add(this.winMovesSquareSum);
+    }
+
+    /**
+     * Plays one deal to its end and adds how it went to the totals of this task.
+     *
+     * @param seed  the deal number
+     * @param legal the buffer to find legal moves in
+     */
+    private void play(long seed, MoveBuffer legal) {
+      KlondikeModel game = KlondikeCreator.createDealt(this.run.type,
+          this.run.numTimesRedrawAllowed, seed, this.run.numPiles, this.run.numDraw);
+      DealGenerator random = new DealGenerator(seed).split();
+      int numMoves = 0;
+      int discardsInARow = 0;
+      while (!game.isWon() && numMoves < this.run.maxMoves
+          && discardsInARow <= MAX_DISCARDS_IN_A_ROW) {
+        game.legalMoves(legal);
+        int move = legal.isEmpty() ? -1 : this.run.policy.chooseMove(game, legal, random);
+        if (move < 0) {
+          break;
+        }
+        game.tryMove(move).throwIfFailed();
+        numMoves++;
+        discardsInARow = MoveBuffer.type(move) == MoveBuffer.DISCARD_DRAW
+            ? discardsInARow + 1 : 0;
+      }
+
+      long score = game.getScore();
+      this.scoreSum += score;
+      this.scoreSquareSum += score * score;
+      if (game.isWon()) {
+        this.numWins++;
+        this.winMovesSum += numMoves;
+        this.winMovesSquareSum += (long) numMoves * numMoves;
+      }
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package cs3500.klondike.simulation;
+
+import cs3500.klondike.model.hw02.DealGenerator;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+
+/**
+ * A policy that plays a legal move chosen uniformly at random, the baseline other policies are
+ * compared to.
+ */
+public class RandomBot implements BotPolicy {
+
+  @Override
+  public int chooseMove(KlondikeModel game, MoveBuffer legal, DealGenerator random) {
+    return legal.get(random.nextInt(legal.size()));
+  }
+}
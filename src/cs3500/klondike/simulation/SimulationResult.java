@@ -0,0 +1,184 @@
+package cs3500.klondike.simulation;
+
+/**
+ * The totals of a {@link MonteCarloSimulator} run over many deals, with the win rate, mean
+ * score and mean moves to win they give and 95% confidence intervals around each.
+ */
+public final class SimulationResult {
+
+  // the normal quantile of a two-sided 95% confidence interval
+  private static final double Z = 1.959964;
+
+  private final long numGames;
+  private final long numWins;
+  private final long scoreSum;
+  private final long scoreSquareSum;
+  private final long winMovesSum;
+  private final long winMovesSquareSum;
+
+  /**
+   * Constructs the result of a run from its totals.
+   *
+   * @param numGames          the number of games played
+   * @param numWins           the number of games won
+   * @param scoreSum          the sum of the final scores of every game
+   * @param scoreSquareSum    the sum of the squares of those scores
+   * @param winMovesSum       the sum of the numbers of moves the won games took
+   * @param winMovesSquareSum the sum of the squares of those numbers
+   */
+  SimulationResult(long numGames, long numWins, long scoreSum, long scoreSquareSum,
+      long winMovesSum, long winMovesSquareSum) {
+    this.numGames = numGames;
+    this.numWins = numWins;
+    this.scoreSum = scoreSum;
+    this.scoreSquareSum = scoreSquareSum;
+    this.winMovesSum = winMovesSum;
+    this.winMovesSquareSum = winMovesSquareSum;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the number of games
+   */
+  public long getNumGames() {
+    return this.numGames;
+  }
+
+  /**
+   * Returns the number of games won.
+   *
+   * @return the number of wins
+   */
+  public long getNumWins() {
+    return this.numWins;
+  }
+
+  /**
+   * Returns the fraction of games won.
+   *
+   * @return the win rate, or 0 if no games were played
+   */
+  public double getWinRate() {
+    return this.numGames == 0 ? 0 : (double) this.numWins / this.numGames;
+  }
+
+  /**
+   * Returns the low end of the 95% Wilson score interval around the win rate, which unlike
+   * the normal approximation stays within [0, 1] and is sound when wins are rare.
+   *
+   * @return the lowest likely win rate
+   */
+  public double getWinRateLow() {
+    return wilsonCenter() - wilsonHalfWidth();
+  }
+
+  /**
+   * Returns the high end of the 95% Wilson score interval around the win rate.
+   *
+   * @return the highest likely win rate
+   */
+  public double getWinRateHigh() {
+    return wilsonCenter() + wilsonHalfWidth();
+  }
+
+  /**
+   * Returns the mean final score of the games.
+   *
+   * @return the mean score, or 0 if no games were played
+   */
+  public double getMeanScore() {
+    return mean(this.scoreSum, this.numGames);
+  }
+
+  /**
+   * Returns half the width of the 95% confidence interval around the mean score.
+   *
+   * @return the margin of error of the mean score
+   */
+  public double getMeanScoreError() {
+    return marginOfError(this.scoreSum, this.scoreSquareSum, this.numGames);
+  }
+
+  /**
+   * Returns the mean number of moves the won games took.
+   *
+   * @return the mean moves to win, or 0 if no game was won
+   */
+  public double getMeanMovesToWin() {
+    return mean(this.winMovesSum, this.numWins);
+  }
+
+  /**
+   * Returns half the width of the 95% confidence interval around the mean moves to win.
+   *
+   * @return the margin of error of the mean moves to win
+   */
+  public double getMeanMovesToWinError() {
+    return marginOfError(this.winMovesSum, this.winMovesSquareSum, this.numWins);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games: win rate %.4f [%.4f, %.4f], mean score %.2f ± %.2f,"
+            + " mean moves to win %.1f ± %.1f", this.numGames, getWinRate(), getWinRateLow(),
+        getWinRateHigh(), getMeanScore(), getMeanScoreError(), getMeanMovesToWin(),
+        getMeanMovesToWinError());
+  }
+
+  /**
+   * Returns the center of the Wilson score interval around the win rate.
+   *
+   * @return the center
+   */
+  private double wilsonCenter() {
+    if (this.numGames == 0) {
+      return 0.5;
+    }
+    double n = this.numGames;
+    return (getWinRate() + Z * Z / (2 * n)) / (1 + Z * Z / n);
+  }
+
+  /**
+   * Returns half the width of the Wilson score interval around the win rate.
+   *
+   * @return the half width
+   */
+  private double wilsonHalfWidth() {
+    if (this.numGames == 0) {
+      return 0.5;
+    }
+    double n = this.numGames;
+    double rate = getWinRate();
+    return Z / (1 + Z * Z / n) * Math.sqrt(rate * (1 - rate) / n + Z * Z / (4 * n * n));
+  }
+
+  /**
+   * Returns the mean of a number of values from their sum.
+   *
+   * @param sum   the sum of the values
+   * @param count the number of values
+   * @return the mean, or 0 if there are no values
+   */
+  private static double mean(long sum, long count) {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * Returns half the width of the normal 95% confidence interval around the mean of a number
+   * of values.
+   *
+   * @param sum       the sum of the values
+   * @param squareSum the sum of their squares
+   * @param count     the number of values
+   * @return the margin of error, or 0 if there are fewer than two values
+   */
+  private static double marginOfError(long sum, long squareSum, long count) {
+    if (count < 2) {
+      return 0;
+    }
+    double mean = (double) sum / count;
+    double variance = Math.max(0, ((double) squareSum - count * mean * mean) / (count - 1));
+    return Z * Math.sqrt(variance / count);
+  }
+}
@@ -0,0 +1,86 @@
+package cs3500.klondike.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A transposition table that any number of threads can share without locks. Position hashes
+ * are kept in a fixed array of slots with open addressing: a position is looked for in the
+ * slots after the one its hash picks, and is recorded in the first empty one with a single
+ * compare-and-set, so two threads recording the same position agree on which of them did.
+ *
+ * <p>The table never grows. When a position finds no empty slot within a few probes it is not
+ * recorded and is reported as new, so a full table makes a search repeat work but never skip
+ * a position that was not searched. The hash 0 marks an empty slot, so it shares a slot with
+ * the hash 1.</p>
+ */
+public class ConcurrentTranspositionTable implements TranspositionTable {
+
+  // the most slots looked at for one position
+  private static final int MAX_PROBES = 32;
+
+  private final AtomicLongArray slots;
+  private final int mask;
+  private final LongAdder size;
+
+  /**
+   * Constructs an empty table with room for at least the given number of positions. The
+   * table works best when it is less than about three quarters full.
+   *
+   * @param capacity the number of positions the table can hold, which is rounded up to a
+   *                 power of two
+   * @throws IllegalArgumentException if the capacity is not positive or is more than 2^30
+   */
+  public ConcurrentTranspositionTable(int capacity) {
+    if (capacity <= 0 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+    }
+    int numSlots = Integer.highestOneBit(capacity);
+    if (numSlots < capacity) {
+      numSlots <<= 1;
+    }
+    this.slots = new AtomicLongArray(numSlots);
+    this.mask = numSlots - 1;
+    this.size = new LongAdder();
+  }
+
+  @Override
+  public boolean visit(long positionHash) {
+    long key = positionHash == 0 ? 1 : positionHash;
+    int slot = (int) (key ^ (key >>> 32)) & this.mask;
+    for (int probe = 0; probe < MAX_PROBES; ) {
+      long current = this.slots.get(slot);
+      if (current == key) {
+        return false;
+      }
+      if (current == 0) {
+        if (this.slots.compareAndSet(slot, 0, key)) {
+          this.size.increment();
+          return true;
+        }
+        // another thread took the slot first, so look at what it recorded
+        continue;
+      }
+      slot = (slot + 1) & this.mask;
+      probe++;
+    }
+    return true;
+  }
+
+  @Override
+  public long size() {
+    return this.size.sum();
+  }
+
+  /**
+   * Forgets every recorded position. This must not be called while other threads use the
+   * table.
+   */
+  @Override
+  public void clear() {
+    for (int i = 0; i < this.slots.length(); i++) {
+      this.slots.set(i, 0);
+    }
+    this.size.reset();
+  }
+}
@@ -0,0 +1,155 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import java.util.Arrays;
+
+/**
+ * A solver that searches the moves of a game depth-first, trying the most promising moves
+ * first and playing safe moves to the foundation piles without branching (see
+ * {@link MoveOrdering}). Positions reached before are skipped with a transposition table, so
+ * cycling through the draw pile or shuffling cards back and forth ends the branch.
+ *
+ * <p>The search plays the moves on a copy of the game and backs up with
+ * {@link KlondikeModel#undo()}, so no position is ever copied. It keeps its own stack of
+ * moves instead of recursing, so long games cannot overflow the call stack. It gives up with
+ * {@link Outcome#UNKNOWN} once it has looked at a given number of positions or run for a given
+ * time.</p>
+ */
+public class DepthFirstSolver implements KlondikeSolver {
+
+  // how many positions are searched between looks at the clock
+  private static final int CLOCK_INTERVAL = 1024;
+
+  private final TranspositionTable table;
+  private final long maxNodes;
+  private final long maxNanos;
+
+  /**
+   * Constructs a solver with a transposition table of its own.
+   *
+   * @param maxNodes  the most positions to search before giving up
+   * @param maxMillis the most milliseconds to search before giving up
+   * @throws IllegalArgumentException if a budget is not positive
+   */
+  public DepthFirstSolver(long maxNodes, long maxMillis) {
+    this(new HashTranspositionTable(), maxNodes, maxMillis);
+  }
+
+  /**
+   * Constructs a solver that records the positions it searches in the given table, which is
+   * cleared at the start of every search.
+   *
+   * @param table     the transposition table
+   * @param maxNodes  the most positions to search before giving up
+   * @param maxMillis the most milliseconds to search before giving up
+   * @throws IllegalArgumentException if the table is null or a budget is not positive
+   */
+  public DepthFirstSolver(TranspositionTable table, long maxNodes, long maxMillis) {
+    if (table == null) {
+      throw new IllegalArgumentException("transposition table cannot be null");
+    }
+    if (maxNodes <= 0 || maxMillis <= 0) {
+      throw new IllegalArgumentException("search budget must be positive");
+    }
+    this.table = table;
+    this.maxNodes = maxNodes;
+    this.maxNanos = maxMillis * 1_000_000L;
+  }
+
+  @Override
+  public SolverResult solve(KlondikeModel game) {
+    return solve(game, System.nanoTime() + this.maxNanos);
+  }
+
+  /**
+   * Searches for a sequence of moves that wins the given game from its current position,
+   * giving up at the given time rather than after the time budget of the solver, so that a
+   * caller can count the time it spent before the search against its own budget.
+   *
+   * @param game     the started game to solve
+   * @param deadline the {@link System#nanoTime()} to stop searching at
+   * @return whether the game can be won, with the winning moves if it can
+   * @throws IllegalArgumentException if the game is null
+   * @throws IllegalStateException    if the game hasn't been started yet
+   */
+  SolverResult solve(KlondikeModel game, long deadline) {
+    if (game == null) {
+      throw new IllegalArgumentException("game cannot be null");
+    }
+    KlondikeModel position = game.copy();
+    this.table.clear();
+    if (position.isWon()) {
+      return new SolverResult(Outcome.SOLVABLE, new int[0], 1);
+    }
+    this.table.visit(position.positionHash());
+
+    MoveBuffer legal = new MoveBuffer();
+    MoveOrdering ordering = new MoveOrdering();
+    // for every depth: the moves to try, how many there are, the next one to try, and the one
+    // that was played
+    int[][] moves = new int[64][];
+    int[] numMoves = new int[64];
+    int[] next = new int[64];
+    int[] path = new int[64];
+    numMoves[0] = expand(position, legal, ordering, moves, 0);
+    int depth = 0;
+    long nodes = 1;
+
+    while (depth >= 0) {
+      if (next[depth] == numMoves[depth]) {
+        // STEP 1: EVERY MOVE OF THIS POSITION FAILED, SO BACK UP
+        if (depth > 0) {
+          position.undo();
+        }
+        depth--;
+        continue;
+      }
+
+      // STEP 2: PLAY THE NEXT MOVE AND LOOK AT THE NEW POSITION
+      int move = moves[depth][next[depth]++];
+      position.tryMove(move).throwIfFailed();
+      path[depth++] = move;
+      nodes++;
+      if (position.isWon()) {
+        return new SolverResult(Outcome.SOLVABLE, Arrays.copyOf(path, depth), nodes);
+      }
+      if (nodes >= this.maxNodes
+          || (nodes % CLOCK_INTERVAL == 0 && System.nanoTime() - deadline > 0)) {
+        return new SolverResult(Outcome.UNKNOWN, new int[0], nodes);
+      }
+
+      // STEP 3: SEARCH THE NEW POSITION UNLESS IT HAS BEEN SEARCHED BEFORE
+      if (depth == path.length) {
+        moves = Arrays.copyOf(moves, depth * 2);
+        numMoves = Arrays.copyOf(numMoves, depth * 2);
+        next = Arrays.copyOf(next, depth * 2);
+        path = Arrays.copyOf(path, depth * 2);
+      }
+      next[depth] = 0;
+      numMoves[depth] = this.table.visit(position.positionHash())
+          ? expand(position, legal, ordering, moves, depth) : 0;
+    }
+    return new SolverResult(Outcome.UNSOLVABLE, new int[0], nodes);
+  }
+
+  /**
+   * Orders the moves to try from a position into the moves of the given depth.
+   *
+   * @param position the position
+   * @param legal    the buffer to find the legal moves in
+   * @param ordering the move ordering
+   * @param moves    the moves to try at every depth, which may grow
+   * @param depth    the depth of the position
+   * @return the number of moves to try
+   */
+  static int expand(KlondikeModel position, MoveBuffer legal, MoveOrdering ordering,
+      int[][] moves, int depth) {
+    position.legalMoves(legal);
+    if (moves[depth] == null || moves[depth].length < legal.size()) {
+      moves[depth] = new int[Math.max(legal.size(), 16)];
+    }
+    return ordering.order(position, legal, moves[depth]);
+  }
+}
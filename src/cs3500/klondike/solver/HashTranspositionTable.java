@@ -0,0 +1,35 @@
+package cs3500.klondike.solver;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A transposition table kept in a {@link HashSet}, which grows with the number of positions
+ * recorded. It is not safe to use from several threads at once.
+ */
+public class HashTranspositionTable implements TranspositionTable {
+
+  private final Set<Long> positions;
+
+  /**
+   * Constructs an empty transposition table.
+   */
+  public HashTranspositionTable() {
+    this.positions = new HashSet<>();
+  }
+
+  @Override
+  public boolean visit(long positionHash) {
+    return this.positions.add(positionHash);
+  }
+
+  @Override
+  public long size() {
+    return this.positions.size();
+  }
+
+  @Override
+  public void clear() {
+    this.positions.clear();
+  }
+}
@@ -0,0 +1,97 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.solver.SolverResult.Outcome;
+
+/**
+ * Suggests the next move of a game within a fixed time budget, for players who ask for a
+ * hint.
+ *
+ * <p>The engine always has an answer at once: the most promising legal move as ordered by
+ * {@link MoveOrdering}, or no move at all if every legal move only moves a whole pile onto an
+ * empty one. Once every card the player has yet to play is in sight, which is when no
+ * cascade card is face-down and fewer draw cards are left than can be shown at once, it then
+ * spends what is left of its budget searching for a way to win with {@link DepthFirstSolver},
+ * and if it finds one it suggests the first move of it instead. Before that a search would
+ * see the face-down cards and the order of the draw pile, so hints never use it and only
+ * ever rely on what the player can see.</p>
+ *
+ * <p>The budget counts from the moment a hint is asked for, including the time spent
+ * ordering the moves and copying the game for the search. The search looks at the clock every
+ * thousand or so positions, so a hint takes at most a fraction of a millisecond longer than
+ * the budget.</p>
+ */
+public class HintEngine {
+
+  private final long maxMillis;
+
+  /**
+   * Constructs an engine that takes at most the given time to suggest a move.
+   *
+   * @param maxMillis the most milliseconds to spend on one hint
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public HintEngine(long maxMillis) {
+    if (maxMillis <= 0) {
+      throw new IllegalArgumentException("time budget must be positive");
+    }
+    this.maxMillis = maxMillis;
+  }
+
+  /**
+   * Suggests the next move to play in a game, which itself is not changed.
+   *
+   * @param game the started game
+   * @return the suggested move, encoded as by {@link MoveBuffer}, or -1 if no legal move
+   *         changes anything
+   * @throws IllegalArgumentException if the game is null
+   * @throws IllegalStateException    if the game hasn't been started yet
+   */
+  public int hint(KlondikeModel game) {
+    if (game == null) {
+      throw new IllegalArgumentException("game cannot be null");
+    }
+    long deadline = System.nanoTime() + this.maxMillis * 1_000_000L;
+    // STEP 1: FIND THE MOST PROMISING MOVE, TO SUGGEST IF THE SEARCH FINDS NO WIN IN TIME
+    MoveBuffer legal = new MoveBuffer();
+    game.legalMoves(legal);
+    int[] ordered = new int[legal.size()];
+    if (new MoveOrdering().order(game, legal, ordered) == 0) {
+      // every legal move, if any, only moves a whole pile onto an empty one
+      return -1;
+    }
+    int best = ordered[0];
+
+    // STEP 2: SEARCH FOR A WIN WITH THE REST OF THE BUDGET, IF NO CARD IS HIDDEN
+    if (hasHiddenCards(game) || System.nanoTime() - deadline >= 0) {
+      return best;
+    }
+    SolverResult result = new DepthFirstSolver(Long.MAX_VALUE, this.maxMillis)
+        .solve(game, deadline);
+    if (result.getOutcome() == Outcome.SOLVABLE && result.getMoves().length > 0) {
+      return result.getMoves()[0];
+    }
+    return best;
+  }
+
+  /**
+   * Determines if a game has cards the player cannot see: a face-down cascade card, or a draw
+   * card behind the ones shown.
+   *
+   * @param game the started game
+   * @return true if some card is hidden, false otherwise
+   */
+  private static boolean hasHiddenCards(KlondikeModel game) {
+    if (game.getDrawCards().size() >= game.getNumDraw()) {
+      // as many draw cards are shown as can be, so more may be behind them
+      return true;
+    }
+    for (int pile = 0; pile < game.getNumPiles(); pile++) {
+      if (game.getPileHeight(pile) > 0 && !game.isCardVisible(pile, 0)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
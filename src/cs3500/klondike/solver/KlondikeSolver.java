@@ -0,0 +1,21 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.KlondikeModel;
+
+/**
+ * Decides whether a game of Klondike in progress can still be won, knowing where every card
+ * is ("thoughtful" solitaire), and finds the moves that win it.
+ */
+public interface KlondikeSolver {
+
+  /**
+   * Searches for a sequence of moves that wins the given game from its current position. The
+   * game itself is not changed.
+   *
+   * @param game the started game to solve
+   * @return whether the game can be won, with the winning moves if it can
+   * @throws IllegalArgumentException if the game is null
+   * @throws IllegalStateException    if the game hasn't been started yet
+   */
+  SolverResult solve(KlondikeModel game);
+}
@@ -0,0 +1,98 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+
+/**
+ * Chooses the order in which a solver tries the legal moves of a position, and which of them it
+ * need not try at all.
+ *
+ * <p>A move of a card to a foundation pile that can never be needed on the cascade piles again
+ * is safe: playing it first cannot lose a winning game, so it is the only move tried. The game
+ * decides which moves are safe by the building rules of its variant (see
+ * {@link KlondikeModel#safeFoundationMove()}).</p>
+ *
+ * <p>Otherwise moves are tried from the most to the least promising: moves to a foundation
+ * pile, moves that turn over a face-down card or empty a pile, moves of the draw card, other
+ * moves between cascade piles, and last discarding the draw card. Moving a whole pile onto an
+ * empty pile changes nothing, so it is never tried.</p>
+ */
+final class MoveOrdering {
+
+  // the scores of the kinds of moves, from the most promising
+  private static final int FOUNDATION = 4;
+  private static final int REVEALING = 3;
+  private static final int FROM_DRAW = 2;
+  private static final int REARRANGING = 1;
+  private static final int DISCARD = 0;
+  // a move that is never tried
+  private static final int PRUNED = -1;
+
+  // the score of each legal move being ordered
+  private int[] scores;
+
+  /**
+   * Constructs a move ordering.
+   */
+  MoveOrdering() {
+    this.scores = new int[64];
+  }
+
+  /**
+   * Puts the legal moves of a game worth trying into an array, in the order to try them.
+   *
+   * @param game  the game the moves are legal in
+   * @param legal the legal moves of the game
+   * @param out   the array to put the moves in, at least as long as the number of legal moves
+   * @return the number of moves put in the array
+   */
+  int order(KlondikeModel game, MoveBuffer legal, int[] out) {
+    int safe = game.safeFoundationMove();
+    if (safe >= 0) {
+      out[0] = safe;
+      return 1;
+    }
+    if (this.scores.length < legal.size()) {
+      this.scores = new int[Math.max(legal.size(), this.scores.length * 2)];
+    }
+    for (int i = 0; i < legal.size(); i++) {
+      this.scores[i] = score(game, legal.get(i));
+    }
+
+    int count = 0;
+    for (int score = FOUNDATION; score >= DISCARD; score--) {
+      for (int i = 0; i < legal.size(); i++) {
+        if (this.scores[i] == score) {
+          out[count++] = legal.get(i);
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns how promising a legal move is.
+   *
+   * @param game the game the move is legal in
+   * @param move the encoded move
+   * @return the score of the move, or PRUNED if it is not worth trying
+   */
+  private static int score(KlondikeModel game, int move) {
+    switch (MoveBuffer.type(move)) {
+      case MoveBuffer.PILE_TO_FOUNDATION:
+      case MoveBuffer.DRAW_TO_FOUNDATION:
+        return FOUNDATION;
+      case MoveBuffer.DRAW_TO_PILE:
+        return FROM_DRAW;
+      case MoveBuffer.DISCARD_DRAW:
+        return DISCARD;
+      default:
+        int height = game.getPileHeight(MoveBuffer.source(move));
+        int below = height - MoveBuffer.numCards(move) - 1;
+        if (below < 0) {
+          return game.getPileHeight(MoveBuffer.destination(move)) == 0 ? PRUNED : REVEALING;
+        }
+        return game.isCardVisible(MoveBuffer.source(move), below) ? REARRANGING : REVEALING;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package cs3500.klondike.solver;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A transposition table kept outside the Java heap, so that a search can record hundreds of
+ * millions of positions without the garbage collector ever looking at them. The position
+ * hashes are stored as eight-byte slots of direct {@link ByteBuffer}s, or of a memory-mapped
+ * file for tables larger than memory, which the operating system pages in and out as the
+ * search needs them.
+ *
+ * <p>Like {@link ConcurrentTranspositionTable}, the table is a fixed array of slots with open
+ * addressing that any number of threads can share without locks: slots are read and written
+ * with compare-and-set through a {@link VarHandle} view of the buffers. Rather than give up on
+ * a position when the slots after the one its hash picks are full, it replaces the hash in that
+ * first slot, so a full table keeps the positions seen most recently, which a depth-first
+ * search is most likely to reach again. A replaced position is searched again if it is
+ * reached again. The hash 0 marks an empty slot, so it shares a slot with the hash 1.</p>
+ */
+public class OffHeapTranspositionTable implements TranspositionTable {
+
+  // the most slots looked at for one position
+  private static final int MAX_PROBES = 16;
+  // the number of slots in one buffer, as a power of two: a buffer holds at most 2^31 bytes
+  private static final int SEGMENT_BITS = 27;
+  private static final int SLOT_BYTES = Long.BYTES;
+  // reads and writes the slots of a buffer atomically
+  private static final VarHandle SLOT =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private final ByteBuffer[] segments;
+  private final long mask;
+  private final int segmentBits;
+  private final LongAdder size;
+
+  /**
+   * Constructs an empty table in direct memory with room for at least the given number of
+   * positions.
+   *
+   * @param capacity the number of positions the table can hold, which is rounded up to a
+   *                 power of two
+   * @throws IllegalArgumentException if the capacity is not positive or is more than 2^40
+   */
+  public OffHeapTranspositionTable(long capacity) {
+    this(allocate(capacity));
+  }
+
+  /**
+   * Constructs an empty table in the given buffers.
+   *
+   * @param segments the buffers, all of the same power of two number of slots
+   */
+  private OffHeapTranspositionTable(ByteBuffer[] segments) {
+    this.segments = segments;
+    int slotsPerSegment = segments[0].capacity() / SLOT_BYTES;
+    this.segmentBits = Integer.numberOfTrailingZeros(slotsPerSegment);
+    this.mask = ((long) segments.length << this.segmentBits) - 1;
+    this.size = new LongAdder();
+  }
+
+  /**
+   * Creates an empty table stored in a file that is mapped into memory, for tables larger
+   * than memory. The file is created if it does not exist, and its contents are replaced.
+   * It stays mapped until the table is garbage collected.
+   *
+   * @param file     the file to store the table in
+   * @param capacity the number of positions the table can hold, which is rounded up to a
+   *                 power of two
+   * @return the table
+   * @throws IllegalArgumentException if the file is null, or the capacity is not positive or
+   *                                  is more than 2^40
+   * @throws IOException              if the file cannot be created or mapped
+   */
+  public static OffHeapTranspositionTable mapFile(Path file, long capacity) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("file cannot be null");
+    }
+    long numSlots = roundUpCapacity(capacity);
+    int slotsPerSegment = (int) Math.min(numSlots, 1L << SEGMENT_BITS);
+    ByteBuffer[] segments = new ByteBuffer[(int) (numSlots / slotsPerSegment)];
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      long segmentBytes = (long) slotsPerSegment * SLOT_BYTES;
+      for (int i = 0; i < segments.length; i++) {
+        // a new region of the file reads as zeros, which are empty slots
+        segments[i] = channel.map(MapMode.READ_WRITE, i * segmentBytes, segmentBytes);
+      }
+    }
+    return new OffHeapTranspositionTable(segments);
+  }
+
+  @Override
+  public boolean visit(long positionHash) {
+    long key = positionHash == 0 ? 1 : positionHash;
+    long home = (key ^ (key >>> 32)) & this.mask;
+    long slot = home;
+    for (int probe = 0; probe < MAX_PROBES; ) {
+      ByteBuffer segment = segment(slot);
+      int offset = offset(slot);
+      long current = (long) SLOT.getVolatile(segment, offset);
+      if (current == key) {
+        return false;
+      }
+      if (current == 0) {
+        if (SLOT.compareAndSet(segment, offset, 0L, key)) {
+          this.size.increment();
+          return true;
+        }
+        // another thread took the slot first, so look at what it recorded
+        continue;
+      }
+      slot = (slot + 1) & this.mask;
+      probe++;
+    }
+
+    // STEP 2: EVERY SLOT LOOKED AT IS TAKEN, SO REPLACE THE FIRST ONE
+    ByteBuffer segment = segment(home);
+    int offset = offset(home);
+    long current = (long) SLOT.getVolatile(segment, offset);
+    while (current != key && !SLOT.compareAndSet(segment, offset, current, key)) {
+      current = (long) SLOT.getVolatile(segment, offset);
+    }
+    return current != key;
+  }
+
+  /**
+   * Returns the number of slots in use, which is the number of positions recorded since the
+   * table was last cleared less the ones that were replaced.
+   *
+   * @return the number of positions held
+   */
+  @Override
+  public long size() {
+    return this.size.sum();
+  }
+
+  /**
+   * Returns the number of positions the table can hold.
+   *
+   * @return the number of slots
+   */
+  public long capacity() {
+    return this.mask + 1;
+  }
+
+  /**
+   * Forgets every recorded position. This must not be called while other threads use the
+   * table.
+   */
+  @Override
+  public void clear() {
+    byte[] zeros = new byte[1 << 16];
+    for (ByteBuffer segment : this.segments) {
+      ByteBuffer view = segment.duplicate();
+      view.clear();
+      while (view.hasRemaining()) {
+        view.put(zeros, 0, Math.min(zeros.length, view.remaining()));
+      }
+    }
+    this.size.reset();
+  }
+
+  /**
+   * Returns the buffer a slot is in.
+   *
+   * @param slot the index of the slot
+   * @return the buffer
+   */
+  private ByteBuffer segment(long slot) {
+    return this.segments[(int) (slot >>> this.segmentBits)];
+  }
+
+  /**
+   * Returns the byte offset of a slot in its buffer.
+   *
+   * @param slot the index of the slot
+   * @return the offset
+   */
+  private int offset(long slot) {
+    return (int) (slot & ((1L << this.segmentBits) - 1)) * SLOT_BYTES;
+  }
+
+  /**
+   * Allocates the direct buffers of a table, aligned so that their slots can be read and
+   * written atomically.
+   *
+   * @param capacity the number of positions the table can hold
+   * @return the buffers
+   */
+  private static ByteBuffer[] allocate(long capacity) {
+    long numSlots = roundUpCapacity(capacity);
+    int slotsPerSegment = (int) Math.min(numSlots, 1L << SEGMENT_BITS);
+    ByteBuffer[] segments = new ByteBuffer[(int) (numSlots / slotsPerSegment)];
+    for (int i = 0; i < segments.length; i++) {
+      int segmentBytes = slotsPerSegment * SLOT_BYTES;
+      // a new direct buffer is all zeros, which are empty slots
+      segments[i] = ByteBuffer.allocateDirect(segmentBytes + SLOT_BYTES - 1)
+          .alignedSlice(SLOT_BYTES).limit(segmentBytes).slice();
+    }
+    return segments;
+  }
+
+  /**
+   * Rounds the capacity of a table up to a power of two.
+   *
+   * @param capacity the number of positions the table must hold
+   * @return the number of slots
+   * @throws IllegalArgumentException if the capacity is not positive or is more than 2^40
+   */
+  private static long roundUpCapacity(long capacity) {
+    if (capacity <= 0 || capacity > (1L << 40)) {
+      throw new IllegalArgumentException("capacity must be between 1 and 2^40");
+    }
+    long numSlots = Long.highestOneBit(capacity);
+    return numSlots < capacity ? numSlots << 1 : numSlots;
+  }
+}
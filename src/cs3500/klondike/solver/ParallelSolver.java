@@ -0,0 +1,282 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A solver that splits the depth-first search of {@link DepthFirstSolver} across the threads
+ * of a {@link ForkJoinPool}. Every task searches its own copy of the game the same way the
+ * sequential solver does, and the tasks share one transposition table, so a position searched
+ * by one thread is skipped by all of them.
+ *
+ * <p>The search tree is split where the work is: whenever a task is about to try a move and
+ * the threads of the pool have little queued work, it hands the moves of that position it has
+ * not tried yet to a new task, which idle threads steal. Most splits happen near the root at
+ * first and deeper once the easy branches are used up, and no thread waits for work while
+ * another has some left to give.</p>
+ *
+ * <p>The first task to win stops the others, so the winning moves found are not always the
+ * ones the sequential solver finds. A deal is only called unsolvable once every task has run
+ * out of moves within the budget. Tasks add up the positions they search a thousand at a
+ * time, so a search may go a little over its node budget before it stops.</p>
+ */
+public class ParallelSolver implements KlondikeSolver {
+
+  // how many positions a task searches between reports of its work
+  private static final int REPORT_INTERVAL = 1024;
+  // how few queued tasks a thread may have before it hands out work
+  private static final int SPLIT_THRESHOLD = 2;
+  // the largest table made for a solver that is not given one
+  private static final int MAX_TABLE_CAPACITY = 1 << 23;
+
+  private final ForkJoinPool pool;
+  private final TranspositionTable table;
+  private final long maxNodes;
+  private final long maxNanos;
+
+  /**
+   * Constructs a solver that runs on the common pool, with a concurrent transposition table
+   * of its own sized for the node budget.
+   *
+   * @param maxNodes  the most positions to search before giving up
+   * @param maxMillis the most milliseconds to search before giving up
+   * @throws IllegalArgumentException if a budget is not positive
+   */
+  public ParallelSolver(long maxNodes, long maxMillis) {
+    this(ForkJoinPool.commonPool(), new ConcurrentTranspositionTable(
+        (int) Math.min(Math.max(maxNodes, 1) * 2, MAX_TABLE_CAPACITY)), maxNodes, maxMillis);
+  }
+
+  /**
+   * Constructs a solver that runs on the given pool and records the positions it searches in
+   * the given table, which is cleared at the start of every search. The table must be safe to
+   * use from every thread of the pool at once.
+   *
+   * @param pool      the pool to search on
+   * @param table     the transposition table
+   * @param maxNodes  the most positions to search before giving up
+   * @param maxMillis the most milliseconds to search before giving up
+   * @throws IllegalArgumentException if the pool or the table is null or a budget is not
+   *                                  positive
+   */
+  public ParallelSolver(ForkJoinPool pool, TranspositionTable table, long maxNodes,
+      long maxMillis) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("transposition table cannot be null");
+    }
+    if (maxNodes <= 0 || maxMillis <= 0) {
+      throw new IllegalArgumentException("search budget must be positive");
+    }
+    this.pool = pool;
+    this.table = table;
+    this.maxNodes = maxNodes;
+    this.maxNanos = maxMillis * 1_000_000L;
+  }
+
+  @Override
+  public SolverResult solve(KlondikeModel game) {
+    if (game == null) {
+      throw new IllegalArgumentException("game cannot be null");
+    }
+    Search search = new Search(this.table, this.maxNodes, System.nanoTime() + this.maxNanos);
+    KlondikeModel position = game.copy();
+    this.table.clear();
+    if (position.isWon()) {
+      return new SolverResult(Outcome.SOLVABLE, new int[0], 1);
+    }
+    this.table.visit(position.positionHash());
+
+    int[][] rootMoves = new int[1][];
+    int numRootMoves = DepthFirstSolver.expand(position, new MoveBuffer(), new MoveOrdering(),
+        rootMoves, 0);
+    this.pool.invoke(new SearchTask(search, position, new int[0],
+        Arrays.copyOf(rootMoves[0], numRootMoves)));
+
+    long nodes = search.nodes.get() + 1;
+    int[] solution = search.solution.get();
+    if (solution != null) {
+      return new SolverResult(Outcome.SOLVABLE, solution, nodes);
+    }
+    return new SolverResult(search.outOfBudget ? Outcome.UNKNOWN : Outcome.UNSOLVABLE,
+        new int[0], nodes);
+  }
+
+  /**
+   * What the tasks of one search share: the table, the budget, and how the search ended.
+   */
+  private static final class Search {
+
+    private final TranspositionTable table;
+    private final long maxNodes;
+    private final long deadline;
+    private final AtomicLong nodes;
+    private final AtomicReference<int[]> solution;
+    // set once any task should stop searching
+    private volatile boolean stopped;
+    // set if the search stopped because it ran out of positions or time
+    private volatile boolean outOfBudget;
+
+    /**
+     * Constructs the shared state of a search that has not started.
+     *
+     * @param table    the transposition table
+     * @param maxNodes the most positions to search
+     * @param deadline the {@link System#nanoTime()} to stop searching at
+     */
+    Search(TranspositionTable table, long maxNodes, long deadline) {
+      this.table = table;
+      this.maxNodes = maxNodes;
+      this.deadline = deadline;
+      this.nodes = new AtomicLong();
+      this.solution = new AtomicReference<>();
+    }
+
+    /**
+     * Adds to the positions searched, and stops the search if the budget is used up.
+     *
+     * @param numNodes the number of positions a task has searched since it last reported
+     * @return true if the search should go on, false otherwise
+     */
+    boolean report(long numNodes) {
+      // the root is counted by solve, so the tasks may search one less position
+      if (this.nodes.addAndGet(numNodes) >= this.maxNodes - 1
+          || System.nanoTime() - this.deadline > 0) {
+        this.outOfBudget = true;
+        this.stopped = true;
+      }
+      return !this.stopped;
+    }
+
+    /**
+     * Records the moves that won the game, unless another task won first, and stops the
+     * search.
+     *
+     * @param moves the moves from the starting position
+     */
+    void win(int[] moves) {
+      this.solution.compareAndSet(null, moves);
+      this.stopped = true;
+    }
+  }
+
+  /**
+   * A task that searches the moves not yet tried from one position, on a copy of the game of
+   * its own.
+   */
+  private static final class SearchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Search search;
+    private final KlondikeModel position;
+    private final int[] prefix;
+    private final int[] rootMoves;
+
+    /**
+     * Constructs a task that has not started.
+     *
+     * @param search    the shared state of the search
+     * @param position  the position to search from, which the task owns
+     * @param prefix    the moves from the starting position of the search to this one
+     * @param rootMoves the moves to try from this position, best first
+     */
+    SearchTask(Search search, KlondikeModel position, int[] prefix, int[] rootMoves) {
+      this.search = search;
+      this.position = position;
+      this.prefix = prefix;
+      this.rootMoves = rootMoves;
+    }
+
+    @Override
+    protected void compute() {
+      List<SearchTask> forked = new ArrayList<>();
+      MoveBuffer legal = new MoveBuffer();
+      MoveOrdering ordering = new MoveOrdering();
+      int[][] moves = new int[64][];
+      int[] numMoves = new int[64];
+      int[] next = new int[64];
+      int[] path = new int[64];
+      moves[0] = this.rootMoves;
+      numMoves[0] = this.rootMoves.length;
+      int depth = 0;
+      long nodes = 0;
+
+      while (depth >= 0 && !this.search.stopped) {
+        if (next[depth] == numMoves[depth]) {
+          // STEP 1: EVERY MOVE OF THIS POSITION FAILED, SO BACK UP
+          if (depth > 0) {
+            this.position.undo();
+          }
+          depth--;
+          continue;
+        }
+
+        // STEP 2: HAND THE OTHER MOVES OF THIS POSITION TO A NEW TASK IF THREADS NEED WORK
+        if (numMoves[depth] - next[depth] > 1
+            && getSurplusQueuedTaskCount() < SPLIT_THRESHOLD) {
+          SearchTask task = new SearchTask(this.search, this.position.copy(),
+              this.pathTo(path, depth),
+              Arrays.copyOfRange(moves[depth], next[depth] + 1, numMoves[depth]));
+          task.fork();
+          forked.add(task);
+          numMoves[depth] = next[depth] + 1;
+        }
+
+        // STEP 3: PLAY THE NEXT MOVE AND LOOK AT THE NEW POSITION
+        int move = moves[depth][next[depth]++];
+        this.position.tryMove(move).throwIfFailed();
+        path[depth++] = move;
+        nodes++;
+        if (this.position.isWon()) {
+          this.search.win(this.pathTo(path, depth));
+          break;
+        }
+        if (nodes == REPORT_INTERVAL) {
+          nodes = 0;
+          if (!this.search.report(REPORT_INTERVAL)) {
+            break;
+          }
+        }
+
+        // STEP 4: SEARCH THE NEW POSITION UNLESS SOME TASK HAS SEARCHED IT BEFORE
+        if (depth == path.length) {
+          moves = Arrays.copyOf(moves, depth * 2);
+          numMoves = Arrays.copyOf(numMoves, depth * 2);
+          next = Arrays.copyOf(next, depth * 2);
+          path = Arrays.copyOf(path, depth * 2);
+        }
+        next[depth] = 0;
+        numMoves[depth] = this.search.table.visit(this.position.positionHash())
+            ? DepthFirstSolver.expand(this.position, legal, ordering, moves, depth) : 0;
+      }
+      this.search.report(nodes);
+      for (SearchTask task : forked) {
+        task.join();
+      }
+    }
+
+    /**
+     * Returns the moves from the starting position of the search to a position of this task.
+     *
+     * @param path  the moves this task played
+     * @param depth how many of them lead to the position
+     * @return the moves
+     */
+    private int[] pathTo(int[] path, int depth) {
+      int[] moves = Arrays.copyOf(this.prefix, this.prefix.length + depth);
+      System.arraycopy(path, 0, moves, this.prefix.length, depth);
+      return moves;
+    }
+  }
+}
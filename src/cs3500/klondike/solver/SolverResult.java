@@ -0,0 +1,75 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.MoveBuffer;
+import java.util.Arrays;
+
+/**
+ * The outcome of a {@link KlondikeSolver} searching a game, with the moves that win it when
+ * one was found.
+ */
+public final class SolverResult {
+
+  /**
+   * Whether a solver found the game can be won.
+   */
+  public enum Outcome {
+    // a sequence of winning moves was found
+    SOLVABLE,
+    // every position that can be reached was searched, and none is won
+    UNSOLVABLE,
+    // the search ran out of its node or time budget before deciding
+    UNKNOWN
+  }
+
+  private final Outcome outcome;
+  private final int[] moves;
+  private final long nodesSearched;
+
+  /**
+   * Constructs the result of a search.
+   *
+   * @param outcome       whether the game can be won
+   * @param moves         the winning moves, encoded as by {@link MoveBuffer}, or an empty array
+   *                      if none were found
+   * @param nodesSearched the number of positions the search looked at
+   */
+  SolverResult(Outcome outcome, int[] moves, long nodesSearched) {
+    this.outcome = outcome;
+    this.moves = moves;
+    this.nodesSearched = nodesSearched;
+  }
+
+  /**
+   * Returns whether the game can be won.
+   *
+   * @return the outcome of the search
+   */
+  public Outcome getOutcome() {
+    return this.outcome;
+  }
+
+  /**
+   * Returns the moves that win the game from the position it was solved from, in order, each
+   * encoded as by {@link MoveBuffer#encode(int, int, int, int)}.
+   *
+   * @return a new array of the winning moves, which is empty unless the game is solvable
+   */
+  public int[] getMoves() {
+    return this.moves.clone();
+  }
+
+  /**
+   * Returns the number of positions the search looked at.
+   *
+   * @return the number of nodes searched
+   */
+  public long getNodesSearched() {
+    return this.nodesSearched;
+  }
+
+  @Override
+  public String toString() {
+    return this.outcome + " after " + this.nodesSearched + " nodes: "
+        + Arrays.toString(this.moves);
+  }
+}
@@ -0,0 +1,30 @@
+package cs3500.klondike.solver;
+
+/**
+ * A set of the positions a solver has already searched, keyed by their Zobrist hashes (see
+ * {@link cs3500.klondike.model.hw02.KlondikeModel#positionHash()}), so that a position reached
+ * again by other moves is not searched twice.
+ */
+public interface TranspositionTable {
+
+  /**
+   * Records that a position has been reached.
+   *
+   * @param positionHash the hash of the position
+   * @return true if the position had not been reached since the table was last cleared,
+   *         false otherwise
+   */
+  boolean visit(long positionHash);
+
+  /**
+   * Returns the number of positions recorded since the table was last cleared.
+   *
+   * @return the number of positions
+   */
+  long size();
+
+  /**
+   * Forgets every recorded position.
+   */
+  void clear();
+}
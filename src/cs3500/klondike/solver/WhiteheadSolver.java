@@ -0,0 +1,247 @@
+package cs3500.klondike.solver;
+
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.KlondikeState;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.WhiteheadKlondike;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A solver for the Whitehead variant that finds short solutions with a best-first A* search.
+ * Every cascade card of a Whitehead game is face-up, so a lower bound on the moves left to
+ * win can be read off the table, and the search always goes on from the position whose moves
+ * so far plus that bound are fewest.
+ *
+ * <p>The bound counts one move for every card not yet on a foundation pile, since each of
+ * them must be moved there on its own, and one more for every cascade pile holding a card
+ * above a lower card of its own suit, since that card must be moved off the pile before the
+ * lower one can reach its foundation pile. It never overestimates, so with a weight of 1 the
+ * first solution found is as short as any. A larger weight counts the bound that many times,
+ * which finds solutions far faster that are at most that many times longer than the
+ * shortest.</p>
+ *
+ * <p>Positions are kept as {@link KlondikeState} snapshots, which share the piles a move does
+ * not touch, so a search holds every position it reaches at little cost. As in
+ * {@link MoveOrdering}, a move of a card to a foundation pile that no card can ever be built on
+ * again (see {@link KlondikeState#safeFoundationMove()}) is the only move tried, and moving a
+ * whole pile onto an empty pile is never tried.</p>
+ *
+ * <p>A solver reuses its own scratch space from one position to the next, so one solver must
+ * not solve two games at the same time.</p>
+ */
+public class WhiteheadSolver implements KlondikeSolver {
+
+  // how many positions are searched between looks at the clock
+  private static final int CLOCK_INTERVAL = 1024;
+
+  private final double weight;
+  private final long maxNodes;
+  private final long maxNanos;
+  // the lowest value seen so far of each suit, while computing a lower bound
+  private final int[] lowest = new int[CardImpl.Suit.values().length];
+
+  /**
+   * Constructs a solver that finds solutions at most twice as long as the shortest.
+   *
+   * @param maxNodes  the most positions to search before giving up
+   * @param maxMillis the most milliseconds to search before giving up
+   * @throws IllegalArgumentException if a budget is not positive
+   */
+  public WhiteheadSolver(long maxNodes, long maxMillis) {
+    this(2, maxNodes, maxMillis);
+  }
+
+  /**
+   * Constructs a solver that weighs the lower bound on the moves left by the given weight.
+   *
+   * @param weight    how many times to count the lower bound, where 1 finds the shortest
+   *                  solutions
+   * @param maxNodes  the most positions to search before giving up
+   * @param maxMillis the most milliseconds to search before giving up
+   * @throws IllegalArgumentException if the weight is less than 1 or a budget is not positive
+   */
+  public WhiteheadSolver(double weight, long maxNodes, long maxMillis) {
+    if (!(weight >= 1)) {
+      throw new IllegalArgumentException("weight must be at least 1");
+    }
+    if (maxNodes <= 0 || maxMillis <= 0) {
+      throw new IllegalArgumentException("search budget must be positive");
+    }
+    this.weight = weight;
+    this.maxNodes = maxNodes;
+    this.maxNanos = maxMillis * 1_000_000L;
+  }
+
+  /**
+   * Searches for a short sequence of moves that wins the given Whitehead game from its
+   * current position. The game itself is not changed.
+   *
+   * @param game the started game to solve
+   * @return whether the game can be won, with the winning moves if it can
+   * @throws IllegalArgumentException if the game is null or is not a Whitehead game
+   * @throws IllegalStateException    if the game hasn't been started yet
+   */
+  @Override
+  public SolverResult solve(KlondikeModel game) {
+    if (game == null) {
+      throw new IllegalArgumentException("game cannot be null");
+    }
+    if (!(game instanceof WhiteheadKlondike)) {
+      throw new IllegalArgumentException("only Whitehead games can be solved");
+    }
+    long deadline = System.nanoTime() + this.maxNanos;
+    KlondikeState start = game.getState();
+    Node root = new Node(start, null, 0, 0, this.estimate(0, start));
+    PriorityQueue<Node> open = new PriorityQueue<>();
+    // the fewest moves each position has been reached with
+    Map<KlondikeState, Integer> fewestMoves = new HashMap<>();
+    open.add(root);
+    fewestMoves.put(root.state, 0);
+    MoveBuffer legal = new MoveBuffer();
+    long nodes = 1;
+
+    while (!open.isEmpty()) {
+      // STEP 1: TAKE THE MOST PROMISING POSITION, UNLESS IT WAS REACHED IN FEWER MOVES SINCE
+      Node node = open.poll();
+      if (node.numMoves > fewestMoves.get(node.state)) {
+        continue;
+      }
+      if (node.state.isWon()) {
+        return new SolverResult(Outcome.SOLVABLE, node.path(), nodes);
+      }
+
+      // STEP 2: QUEUE EVERY POSITION ITS MOVES REACH IN FEWER MOVES THAN BEFORE
+      node.state.legalMoves(legal);
+      int safe = node.state.safeFoundationMove();
+      for (int i = 0; i < legal.size(); i++) {
+        int move = legal.get(i);
+        if ((safe >= 0 && move != safe) || isPointless(node.state, move)) {
+          continue;
+        }
+        KlondikeState child = node.state.apply(move);
+        int numMoves = node.numMoves + 1;
+        Integer fewest = fewestMoves.get(child);
+        if (fewest != null && fewest <= numMoves) {
+          continue;
+        }
+        fewestMoves.put(child, numMoves);
+        open.add(new Node(child, node, move, numMoves, this.estimate(numMoves, child)));
+        nodes++;
+        if (nodes >= this.maxNodes
+            || (nodes % CLOCK_INTERVAL == 0 && System.nanoTime() - deadline > 0)) {
+          return new SolverResult(Outcome.UNKNOWN, new int[0], nodes);
+        }
+      }
+    }
+    return new SolverResult(Outcome.UNSOLVABLE, new int[0], nodes);
+  }
+
+  /**
+   * Returns the weighted estimate of the moves a solution through a position takes.
+   *
+   * @param numMoves the moves made to reach the position
+   * @param state    the position
+   * @return the estimate
+   */
+  private double estimate(int numMoves, KlondikeState state) {
+    return numMoves + this.weight * this.lowerBound(state);
+  }
+
+  /**
+   * Returns a number of moves that winning a Whitehead game from a position takes at least.
+   *
+   * @param state the position
+   * @return the lower bound
+   */
+  private int lowerBound(KlondikeState state) {
+    int bound = state.getMaxScore() - state.getScore();
+    for (int pile = 0; pile < state.getNumPiles(); pile++) {
+      Arrays.fill(this.lowest, Integer.MAX_VALUE);
+      for (int i = 0; i < state.getPileHeight(pile); i++) {
+        int code = state.getCardCodeAt(pile, i);
+        int suit = CardImpl.suit(code).ordinal();
+        if (CardImpl.value(code) > this.lowest[suit]) {
+          // this card is above a lower card of its suit
+          bound++;
+          break;
+        }
+        this.lowest[suit] = CardImpl.value(code);
+      }
+    }
+    return bound;
+  }
+
+  /**
+   * Determines if a legal move moves a whole cascade pile onto an empty one, which changes
+   * nothing.
+   *
+   * @param state the position
+   * @param move  the encoded move
+   * @return true if the move is pointless, false otherwise
+   */
+  private static boolean isPointless(KlondikeState state, int move) {
+    return MoveBuffer.type(move) == MoveBuffer.PILE_TO_PILE
+        && MoveBuffer.numCards(move) == state.getPileHeight(MoveBuffer.source(move))
+        && state.getPileHeight(MoveBuffer.destination(move)) == 0;
+  }
+
+  /**
+   * A position reached by the search, with the move that reached it.
+   */
+  private static final class Node implements Comparable<Node> {
+
+    private final KlondikeState state;
+    private final Node parent;
+    private final int move;
+    private final int numMoves;
+    private final double estimate;
+
+    /**
+     * Constructs a node.
+     *
+     * @param state    the position
+     * @param parent   the node the move was made from, or null for the starting position
+     * @param move     the encoded move that reached the position
+     * @param numMoves the number of moves from the starting position
+     * @param estimate the weighted estimate of the moves a solution through it takes
+     */
+    Node(KlondikeState state, Node parent, int move, int numMoves, double estimate) {
+      this.state = state;
+      this.parent = parent;
+      this.move = move;
+      this.numMoves = numMoves;
+      this.estimate = estimate;
+    }
+
+    /**
+     * Returns the moves from the starting position to this one.
+     *
+     * @return the encoded moves, in order
+     */
+    int[] path() {
+      int[] moves = new int[this.numMoves];
+      for (Node node = this; node.parent != null; node = node.parent) {
+        moves[node.numMoves - 1] = node.move;
+      }
+      return moves;
+    }
+
+    /**
+     * Orders nodes by their estimates, breaking ties in favor of the one with more moves made,
+     * which is closer to a win.
+     *
+     * @param other the node to compare to
+     * @return a negative number if this node is searched first, a positive one otherwise
+     */
+    @Override
+    public int compareTo(Node other) {
+      int byEstimate = Double.compare(this.estimate, other.estimate);
+      return byEstimate != 0 ? byEstimate : Integer.compare(other.numMoves, this.numMoves);
+    }
+  }
+}
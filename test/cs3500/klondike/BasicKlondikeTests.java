@@ -12,10 +12,12 @@ import static org.junit.Assert.fail;
 import cs3500.klondike.model.hw02.Card;
 import cs3500.klondike.model.hw02.CardImpl;
 import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.MoveResult;
 import cs3500.klondike.model.hw04.KlondikeCreator;
 import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
 import cs3500.klondike.view.KlondikeTextualView;
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 import org.junit.Assert;
 import org.junit.Before;
@@ -181,6 +183,61 @@ public class BasicKlondikeTests {
     model.startGame(deck, false, 7, 1);  // Should throw exception
   }
 
+  @Test
+  public void testStartGameWithEightDeckShoe() {
+    List<Card> shoe = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      shoe.addAll(model.getDeck());
+    }
+    model.startGame(shoe, true, 9, 3);
+    assertEquals(0, model.getScore());
+  }
+
+  @Test
+  public void testStartGameWithDifferentNumberOfRunsPerSuit() {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      deck.add(new CardImpl(i, Suit.HEARTS));
+      deck.add(new CardImpl(i, Suit.CLUBS));
+      deck.add(new CardImpl(i, Suit.HEARTS));
+    }
+    model.startGame(deck, false, 2, 1);  // Should not throw exception
+    assertEquals(2, model.getPileHeight(1));
+    assertEquals(new CardImpl(1, Suit.HEARTS), model.getCardAt(1, 1));
+  }
+
+  @Test
+  public void testStartGameDealsLargeTableFromLinkedDeck() {
+    List<Card> shoe = new LinkedList<>();
+    for (int i = 0; i < 16; i++) {
+      shoe.addAll(model.getDeck());
+    }
+    // 40 piles take 820 of the 832 cards
+    model.startGame(shoe, false, 40, 3);
+    assertEquals(40, model.getNumPiles());
+    assertEquals(40, model.getPileHeight(39));
+    assertEquals(64, model.getNumFoundations());
+    assertEquals(3, model.getDrawCards().size());
+    assertThrows(IllegalArgumentException.class,
+        () -> KlondikeCreator.create(GameType.BASIC).startGame(shoe, false, 41, 3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStartGameWithIncompleteSecondRun() {
+    List<Card> deck = model.getDeck();
+    deck.addAll(model.getDeck());
+    deck.remove(deck.size() - 1);
+    model.startGame(deck, false, 7, 1);  // Should throw exception
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStartGameWithSuitMissingItsAce() {
+    List<Card> deck = createEachSuitAceToFiveDeck();
+    deck.remove(new CardImpl(1, Suit.SPADES));
+    deck.remove(new CardImpl(1, Suit.CLUBS));
+    model.startGame(deck, false, 2, 1);  // Should throw exception
+  }
+
 
   @Test(expected = IllegalArgumentException.class)
   public void testStartGameWithTooManyCascadePiles() {
@@ -449,9 +506,12 @@ public class BasicKlondikeTests {
   // ****************************************************************************************
   @Test
   public void testDeckIsShuffled() {
-    List<Card> originalDeck = new ArrayList<>(deck);
+    // cards are equal by value and suit, so compare the deal instead of the deck
+    KlondikeModel unshuffled = KlondikeCreator.create(GameType.BASIC);
+    unshuffled.startGame(unshuffled.getDeck(), false, 7, 3);
     model.startGame(deck, true, 7, 3);
-    assertNotEquals(originalDeck, model.getDeck());
+    assertNotEquals(new KlondikeTextualView(unshuffled).toString(),
+        new KlondikeTextualView(model).toString());
   }
 
   @Test(expected = IllegalArgumentException.class)
@@ -635,7 +695,198 @@ public class BasicKlondikeTests {
     assertEquals(4, model.getNumFoundations());
   }
 
+  @Test
+  public void testGetDeckSharesCanonicalCards() {
+    List<Card> otherDeck = model.getDeck();
+    for (int i = 0; i < deck.size(); i++) {
+      Assert.assertSame(deck.get(i), otherDeck.get(i));
+    }
+    Card fiveOfHearts = new CardImpl(5, Suit.HEARTS);
+    assertEquals(fiveOfHearts, CardImpl.of(5, Suit.HEARTS));
+    Assert.assertSame(CardImpl.of(5, Suit.HEARTS),
+        CardImpl.fromCode(CardImpl.toCode(fiveOfHearts)));
+  }
+
+  @Test
+  public void testStartGameWithOwnCardsReturnsCanonicalCards() {
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(new CardImpl(1, Suit.SPADES));
+    model.startGame(customDeck, false, 1, 1);
+    Assert.assertSame(CardImpl.of(1, Suit.SPADES), model.getCardAt(0, 0));
+  }
+
+  @Test
+  public void testCheckingForMovesDoesNotRevealCards() {
+    model.startGame(deck, false, 7, 3);
+    for (int i = 0; i < 24; i++) {
+      model.discardDraw();
+      assertFalse(model.isGameOver());
+    }
+    for (int pile = 1; pile < model.getNumPiles(); pile++) {
+      int height = model.getPileHeight(pile);
+      assertTrue(model.isCardVisible(pile, height - 1));
+      assertFalse(model.isCardVisible(pile, height - 2));
+    }
+  }
+
+  @Test
+  public void testDiscardDrawCyclesThroughWholeDrawPile() {
+    model.startGame(deck, false, 7, 3);
+    String firstDraw = model.getDrawCards().toString();
+    model.discardDraw();
+    assertNotEquals(firstDraw, model.getDrawCards().toString());
+    // 24 cards are left in the draw pile after dealing 7 piles, so 23 more discards wrap around
+    for (int i = 0; i < 23; i++) {
+      model.discardDraw();
+    }
+    assertEquals(firstDraw, model.getDrawCards().toString());
+  }
+
+  @Test
+  public void testDrawCardsShiftAfterMoveDrawToFoundation() {
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(new CardImpl(2, Suit.HEARTS));
+    customDeck.add(new CardImpl(1, Suit.HEARTS));
+    customDeck.add(new CardImpl(3, Suit.HEARTS));
+    model.startGame(customDeck, false, 1, 1);
+    model.discardDraw();
+    assertEquals("[3♡]", model.getDrawCards().toString());
+    model.discardDraw();
+    model.moveDrawToFoundation(0);
+    assertEquals("[3♡]", model.getDrawCards().toString());
+  }
+
+  @Test
+  public void testTryMovesBeforeStart() {
+    assertEquals(MoveResult.GAME_NOT_STARTED, model.tryMovePile(0, 1, 1));
+    assertEquals(MoveResult.GAME_NOT_STARTED, model.tryMoveDraw(0));
+    assertEquals(MoveResult.GAME_NOT_STARTED, model.tryMoveToFoundation(0, 0));
+    assertEquals(MoveResult.GAME_NOT_STARTED, model.tryMoveDrawToFoundation(0));
+    assertEquals(MoveResult.GAME_NOT_STARTED, model.tryDiscardDraw());
+  }
+
+  @Test
+  public void testTryMovesReportWhyTheMoveFailed() {
+    model.startGame(deck, false, 7, 3);
+    String before = new KlondikeTextualView(model).toString();
+    assertEquals(MoveResult.INVALID_PILE, model.tryMovePile(0, 1, 0));
+    assertEquals(MoveResult.INVALID_PILE, model.tryMovePile(7, 1, 0));
+    assertEquals(MoveResult.INVALID_CARDS, model.tryMovePile(6, 2, 0));
+    assertEquals(MoveResult.INVALID_CARDS, model.tryMovePile(0, 2, 6));
+    assertEquals(MoveResult.NOT_ALLOWED, model.tryMovePile(1, 1, 2));
+    assertEquals(MoveResult.INVALID_PILE, model.tryMoveDraw(-1));
+    assertEquals(MoveResult.NOT_ALLOWED, model.tryMoveDraw(0));
+    assertEquals(MoveResult.INVALID_PILE, model.tryMoveToFoundation(0, 4));
+    assertEquals(MoveResult.NOT_ALLOWED, model.tryMoveToFoundation(1, 0));
+    assertEquals(MoveResult.NOT_ALLOWED, model.tryMoveDrawToFoundation(0));
+    // none of the failed moves changed the game
+    assertEquals(before, new KlondikeTextualView(model).toString());
+    assertEquals(0, model.getScore());
+  }
+
+  @Test
+  public void testTryMovesMakeTheMove() {
+    model.startGame(deck, false, 7, 3);
+    assertEquals(MoveResult.SUCCESS, model.tryMoveToFoundation(0, 0));
+    assertEquals(MoveResult.NO_CARDS, model.tryMoveToFoundation(0, 1));
+    assertEquals(1, model.getScore());
+    assertEquals(MoveResult.SUCCESS, model.tryMovePile(5, 1, 0));
+    assertEquals(MoveResult.SUCCESS, model.tryDiscardDraw());
+    assertEquals("J♢", model.getCardAt(5, 4).toString());
+  }
+
+  @Test
+  public void testThrowingMovesMatchTryMoveResults() {
+    model.startGame(deck, false, 7, 3);
+    assertThrows(IllegalArgumentException.class, () -> model.movePile(7, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> model.movePile(6, 2, 0));
+    assertThrows(IllegalStateException.class, () -> model.movePile(1, 1, 2));
+    model.moveToFoundation(0, 0);
+    assertThrows(IllegalStateException.class, () -> model.moveToFoundation(0, 1));
+  }
+
+  @Test
+  public void testMaxScore() {
+    assertThrows(IllegalStateException.class, () -> model.getMaxScore());
+    model.startGame(deck, false, 7, 3);
+    assertEquals(52, model.getMaxScore());
+    KlondikeModel small = KlondikeCreator.create(GameType.BASIC);
+    small.startGame(createTripleHeartSpadeDeck(), false, 7, 3);
+    assertEquals(78, small.getMaxScore());
+  }
+
+  @Test
+  public void testScoreCountsEveryFoundationMove() {
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(new CardImpl(2, Suit.HEARTS));
+    customDeck.add(new CardImpl(1, Suit.HEARTS));
+    customDeck.add(new CardImpl(1, Suit.SPADES));
+    customDeck.add(new CardImpl(2, Suit.SPADES));
+    model.startGame(customDeck, false, 1, 1);
+    assertEquals(0, model.getScore());
+    model.moveDrawToFoundation(0);
+    model.moveDrawToFoundation(1);
+    model.moveToFoundation(0, 0);
+    assertEquals(3, model.getScore());
+    model.moveDrawToFoundation(1);
+    assertEquals(model.getMaxScore(), model.getScore());
+  }
+
+  @Test
+  public void testIsWonOnceEveryCardIsOnAFoundation() {
+    assertThrows(IllegalStateException.class, () -> model.isWon());
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(new CardImpl(1, Suit.CLUBS));
+    customDeck.add(new CardImpl(2, Suit.CLUBS));
+    model.startGame(customDeck, false, 1, 1);
+    assertFalse(model.isWon());
+    model.moveToFoundation(0, 0);
+    assertFalse(model.isWon());
+    model.moveDrawToFoundation(0);
+    assertTrue(model.isWon());
+    assertTrue(model.isGameOver());
+  }
+
+  @Test
+  public void testRunLengthFollowsAlternatingRun() {
+    assertThrows(IllegalStateException.class, () -> model.getRunLength(0));
+    model.startGame(deck, false, 7, 3);
+    for (int pile = 0; pile < 7; pile++) {
+      assertEquals(1, model.getRunLength(pile));
+    }
+    model.movePile(0, 1, 6);
+    assertEquals(0, model.getRunLength(0));
+    assertEquals(2, model.getRunLength(6));
+    assertThrows(IllegalArgumentException.class, () -> model.getRunLength(7));
+    // the whole run moves, or just part of it, but never more than the run
+    assertEquals(MoveResult.INVALID_CARDS, model.tryMovePile(6, 3, 1));
+  }
 
+  @Test
+  public void testCopyIsIndependentOfTheGame() {
+    model.startGame(deck, false, 7, 3);
+    model.moveToFoundation(0, 0);
+    KlondikeModel copy = model.copy();
+    String before = new KlondikeTextualView(model).toString();
+    assertEquals(before, new KlondikeTextualView(copy).toString());
+
+    copy.movePile(5, 1, 0);
+    copy.discardDraw();
+    copy.moveToFoundation(2, 1);
+    assertEquals(before, new KlondikeTextualView(model).toString());
+    assertEquals(1, model.getScore());
+    assertEquals(2, copy.getScore());
 
+    model.moveToFoundation(2, 3);
+    assertEquals(null, copy.getCardAt(3));
+    assertFalse(copy.isGameOver());
+  }
 
+  @Test
+  public void testCopyBeforeStart() {
+    KlondikeModel copy = model.copy();
+    assertThrows(IllegalStateException.class, copy::getScore);
+    copy.startGame(deck, false, 7, 3);
+    assertThrows(IllegalStateException.class, model::getScore);
+  }
 }
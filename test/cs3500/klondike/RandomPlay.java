@@ -0,0 +1,68 @@
+package cs3500.klondike;
+
+import cs3500.klondike.model.hw02.DealGenerator;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import java.util.function.LongFunction;
+
+/**
+ * Plays random legal moves on seeded deals, for the tests that check a property of every
+ * position a game goes through. The random moves come from a fixed seed, so every run plays
+ * the same games.
+ */
+final class RandomPlay {
+
+  /**
+   * Checks a game at a position of a random play.
+   */
+  interface MoveCheck {
+
+    /**
+     * Checks a game before a move is played on it, and once more when the game stops.
+     *
+     * @param game  the game, which the check may only change once the game stops
+     * @param legal the legal moves of the game
+     * @param move  the move about to be played, or -1 if the game stops here, either because
+     *              no move is legal or after its last turn
+     */
+    void check(KlondikeModel game, MoveBuffer legal, int move);
+  }
+
+  private RandomPlay() {
+  }
+
+  /**
+   * Plays random legal moves on deals 0, 1, 2, ... of a variant, checking every position.
+   *
+   * @param deal          creates the games to play from their deal numbers
+   * @param numGames      the number of deals to play
+   * @param maxTurns      the most moves to play on one deal
+   * @param preferDiscard whether to discard the draw card half of the time it is possible, so
+   *                      that games with limited redraws use up their draw pile
+   * @param check         the check to run at every position
+   * @return the number of games played until no move was legal
+   */
+  static int play(LongFunction<KlondikeModel> deal, int numGames, int maxTurns,
+      boolean preferDiscard, MoveCheck check) {
+    DealGenerator random = new DealGenerator(11L);
+    MoveBuffer legal = new MoveBuffer();
+    int numOver = 0;
+    for (long seed = 0; seed < numGames; seed++) {
+      KlondikeModel game = deal.apply(seed);
+      for (int turn = 0; ; turn++) {
+        game.legalMoves(legal);
+        if (legal.isEmpty() || turn == maxTurns) {
+          numOver += legal.isEmpty() ? 1 : 0;
+          check.check(game, legal, -1);
+          break;
+        }
+        int last = legal.get(legal.size() - 1);
+        int move = preferDiscard && MoveBuffer.type(last) == MoveBuffer.DISCARD_DRAW
+            && random.nextInt(2) == 0 ? last : legal.get(random.nextInt(legal.size()));
+        check.check(game, legal, move);
+        game.tryMove(move).throwIfFailed();
+      }
+    }
+    return numOver;
+  }
+}
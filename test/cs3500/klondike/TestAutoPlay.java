@@ -0,0 +1,122 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.KlondikeState;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.DepthFirstSolver;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link KlondikeModel#safeFoundationMove()} and
+ * {@link KlondikeModel#autoPlayToFoundations()}.
+ */
+public class TestAutoPlay {
+
+  /**
+   * Returns a deck of the aces, twos and threes of hearts, clubs and spades, where the ace of
+   * hearts is dealt to the only cascade pile and the rest are drawn in the order A♣, A♠, 2♡,
+   * 3♡, 2♣, 2♠, 3♣, 3♠.
+   *
+   * @return the deck
+   */
+  private static List<Card> threeSuitDeck() {
+    List<Card> deck = new ArrayList<>();
+    deck.add(new CardImpl(1, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.CLUBS));
+    deck.add(new CardImpl(1, Suit.SPADES));
+    deck.add(new CardImpl(2, Suit.HEARTS));
+    deck.add(new CardImpl(3, Suit.HEARTS));
+    deck.add(new CardImpl(2, Suit.CLUBS));
+    deck.add(new CardImpl(2, Suit.SPADES));
+    deck.add(new CardImpl(3, Suit.CLUBS));
+    deck.add(new CardImpl(3, Suit.SPADES));
+    return deck;
+  }
+
+  @Test
+  public void testStopsAtCardOppositeColorsStillNeed() {
+    KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+    model.startGame(threeSuitDeck(), false, 1, 1);
+    // the aces and the two go up, but the black twos could still be built on the three
+    assertEquals(4, model.autoPlayToFoundations());
+    assertEquals(-1, model.safeFoundationMove());
+    assertEquals("3♡", model.getDrawCards().get(0).toString());
+
+    model.moveDrawToFoundation(0);
+    assertEquals(4, model.autoPlayToFoundations());
+    assertTrue(model.isWon());
+  }
+
+  @Test
+  public void testWhiteheadLooksAtSameColor() {
+    KlondikeModel model = KlondikeCreator.create(GameType.WHITEHEAD);
+    model.startGame(threeSuitDeck(), false, 1, 1);
+    // nothing red is built on the three of hearts, and every black three waits only on black
+    assertEquals(9, model.autoPlayToFoundations());
+    assertTrue(model.isWon());
+  }
+
+  @Test
+  public void testSafeMoveIsLegal() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    MoveBuffer legal = new MoveBuffer();
+    for (int turn = 0; turn < 30; turn++) {
+      int move = model.safeFoundationMove();
+      if (move >= 0) {
+        model.legalMoves(legal);
+        boolean found = false;
+        for (int i = 0; i < legal.size(); i++) {
+          found |= legal.get(i) == move;
+        }
+        assertTrue(found);
+      }
+      model.discardDraw();
+    }
+  }
+
+  @Test
+  public void testEachMoveCanBeUndone() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    KlondikeState start = model.getState();
+    int numMoves = model.autoPlayToFoundations();
+    assertTrue(numMoves > 0);
+    assertEquals(-1, model.safeFoundationMove());
+    for (int i = 0; i < numMoves; i++) {
+      model.undo();
+    }
+    assertEquals(start, model.getState());
+    assertFalse(model.canUndo());
+  }
+
+  @Test
+  public void testKeepsWinnableDealsWinnable() {
+    for (long seed : new long[] {2L, 3L, 4L}) {
+      KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3);
+      model.autoPlayToFoundations();
+      assertEquals(Outcome.SOLVABLE,
+          new DepthFirstSolver(1_000_000, 10_000).solve(model).getOutcome());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAutoPlayBeforeStart() {
+    KlondikeCreator.create(GameType.BASIC).autoPlayToFoundations();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSafeMoveBeforeStart() {
+    KlondikeCreator.create(GameType.BASIC).safeFoundationMove();
+  }
+}
@@ -0,0 +1,140 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.DepthFirstSolver;
+import cs3500.klondike.solver.HashTranspositionTable;
+import cs3500.klondike.solver.KlondikeSolver;
+import cs3500.klondike.solver.SolverResult;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import cs3500.klondike.solver.TranspositionTable;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link DepthFirstSolver}.
+ */
+public class TestDepthFirstSolver {
+
+  /**
+   * Plays the winning moves of a result on a new game dealt the same way, and checks that
+   * they win it. Shared by the tests of every solver.
+   *
+   * @param result  the result of solving the deal
+   * @param type    the variant of the game
+   * @param seed    the deal number
+   * @param numDraw the number of visible draw cards
+   */
+  static void checkMovesWin(SolverResult result, GameType type, long seed, int numDraw) {
+    KlondikeModel replay = KlondikeCreator.createDealt(type, seed, 7, numDraw);
+    for (int move : result.getMoves()) {
+      assertTrue(replay.tryMove(move).isSuccess());
+    }
+    assertTrue(replay.isWon());
+  }
+
+  @Test
+  public void testSolvesDeal() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    SolverResult result = new DepthFirstSolver(100_000, 10_000).solve(game);
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    checkMovesWin(result, GameType.BASIC, 3L, 3);
+  }
+
+  @Test
+  public void testSolvesDealThatNeedsBacktracking() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 2L, 7, 3);
+    SolverResult result = new DepthFirstSolver(1_000_000, 10_000).solve(game);
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    assertTrue(result.getNodesSearched() > result.getMoves().length);
+    checkMovesWin(result, GameType.BASIC, 2L, 3);
+  }
+
+  @Test
+  public void testSolvingLeavesGameAlone() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    long hash = game.positionHash();
+    new DepthFirstSolver(100_000, 10_000).solve(game);
+    assertEquals(hash, game.positionHash());
+    assertFalse(game.canUndo());
+  }
+
+  @Test
+  public void testSolvesFromGameInProgress() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    game.discardDraw();
+    SolverResult result = new DepthFirstSolver(100_000, 10_000).solve(game);
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    for (int move : result.getMoves()) {
+      game.tryMove(move).throwIfFailed();
+    }
+    assertTrue(game.isWon());
+  }
+
+  @Test
+  public void testUnsolvableDeal() {
+    KlondikeModel game = KlondikeCreator.create(GameType.BASIC);
+    List<Card> deck = new ArrayList<>();
+    deck.add(new CardImpl(3, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.HEARTS));
+    deck.add(new CardImpl(2, Suit.HEARTS));
+    // piles: [3♡], [A♡, 2♡], where the ace is face-down under the two
+    game.startGame(deck, false, 2, 1);
+    SolverResult result = new DepthFirstSolver(100_000, 10_000).solve(game);
+    assertEquals(Outcome.UNSOLVABLE, result.getOutcome());
+    assertEquals(0, result.getMoves().length);
+  }
+
+  @Test
+  public void testGivesUpAfterNodeBudget() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 1L, 7, 3);
+    SolverResult result = new DepthFirstSolver(50, 10_000).solve(game);
+    assertEquals(Outcome.UNKNOWN, result.getOutcome());
+    assertEquals(50, result.getNodesSearched());
+  }
+
+  @Test
+  public void testUsesGivenTable() {
+    TranspositionTable table = new HashTranspositionTable();
+    KlondikeSolver solver = new DepthFirstSolver(table, 100_000, 10_000);
+    SolverResult result = solver.solve(KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3));
+    assertTrue(table.size() > 0);
+    assertTrue(table.size() <= result.getNodesSearched());
+  }
+
+  @Test
+  public void testSolvesLimitedDraw() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.LIMITED, 1, 3L, 7, 3);
+    SolverResult result = new DepthFirstSolver(100_000, 10_000).solve(game);
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTable() {
+    new DepthFirstSolver(null, 10, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveBudget() {
+    new DepthFirstSolver(0, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGame() {
+    new DepthFirstSolver(10, 10).solve(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGameNotStarted() {
+    new DepthFirstSolver(10, 10).solve(KlondikeCreator.create(GameType.BASIC));
+  }
+}
@@ -0,0 +1,136 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.DepthFirstSolver;
+import cs3500.klondike.solver.HintEngine;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link HintEngine}.
+ */
+public class TestHintEngine {
+
+  /**
+   * Determines if a move is one of the legal moves of a game.
+   *
+   * @param game the game
+   * @param move the encoded move
+   * @return true if the move is legal, false otherwise
+   */
+  private static boolean isLegal(KlondikeModel game, int move) {
+    MoveBuffer legal = new MoveBuffer();
+    game.legalMoves(legal);
+    for (int i = 0; i < legal.size(); i++) {
+      if (legal.get(i) == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testSuggestsFirstMoveOfWinOnceEveryCardIsVisible() {
+    KlondikeModel game = KlondikeCreator.create(GameType.BASIC);
+    List<Card> deck = new ArrayList<>();
+    deck.add(new CardImpl(2, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.SPADES));
+    deck.add(new CardImpl(2, Suit.SPADES));
+    // piles: [2♡]; draw: A♡, A♠, 2♠, which are all shown
+    game.startGame(deck, false, 1, 4);
+    int[] win = new DepthFirstSolver(1_000_000, 10_000).solve(game).getMoves();
+    assertEquals(win[0], new HintEngine(10_000).hint(game));
+  }
+
+  @Test
+  public void testDoesNotSearchWithHiddenCards() {
+    // searching this deal would take the whole budget, but its cascades have face-down cards
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 9L, 7, 3);
+    long start = System.nanoTime();
+    int move = new HintEngine(10_000).hint(game);
+    assertTrue((System.nanoTime() - start) / 1_000_000L < 1000);
+    assertTrue(isLegal(game, move));
+  }
+
+  @Test
+  public void testHintLeavesGameAlone() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 5L, 7, 3);
+    game.discardDraw();
+    long hash = game.positionHash();
+    int move = new HintEngine(100).hint(game);
+    assertTrue(isLegal(game, move));
+    assertEquals(hash, game.positionHash());
+    game.undo();
+    assertFalse(game.canUndo());
+  }
+
+  @Test
+  public void testKeepsToBudgetOnHardDeal() {
+    // the depth-first solver cannot decide this deal within millions of positions
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 9L, 7, 3);
+    long start = System.nanoTime();
+    int move = new HintEngine(50).hint(game);
+    assertTrue((System.nanoTime() - start) / 1_000_000L < 1000);
+    assertTrue(isLegal(game, move));
+  }
+
+  @Test
+  public void testNoMovesLeft() {
+    KlondikeModel game = KlondikeCreator.create(GameType.BASIC);
+    List<Card> deck = new ArrayList<>();
+    deck.add(new CardImpl(3, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.HEARTS));
+    deck.add(new CardImpl(2, Suit.HEARTS));
+    // piles: [3♡], [A♡, 2♡], where the ace is face-down under the two
+    game.startGame(deck, false, 2, 1);
+    assertEquals(-1, new HintEngine(100).hint(game));
+  }
+
+  @Test
+  public void testNoUsefulMovesLeft() {
+    KlondikeModel game = KlondikeCreator.create(GameType.BASIC);
+    List<Card> deck = new ArrayList<>();
+    for (int value : new int[] {1, 13, 6, 8, 5, 7, 9, 12, 10, 11, 2, 3, 4}) {
+      deck.add(new CardImpl(value, Suit.HEARTS));
+    }
+    // piles: [A♡], [K♡, 5♡], [6♡, 7♡, Q♡], [8♡, 9♡, 10♡, J♡]; draw: 2♡, 3♡, 4♡
+    game.startGame(deck, false, 4, 1);
+    game.moveToFoundation(0, 0);
+    for (int i = 0; i < 3; i++) {
+      game.moveDrawToFoundation(0);
+    }
+    game.moveToFoundation(1, 0);
+    // the only legal move is the lone king onto the empty pile, which changes nothing
+    MoveBuffer legal = new MoveBuffer();
+    game.legalMoves(legal);
+    assertEquals(1, legal.size());
+    assertEquals(-1, new HintEngine(100).hint(game));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveBudget() {
+    new HintEngine(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGame() {
+    new HintEngine(10).hint(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGameNotStarted() {
+    new HintEngine(10).hint(KlondikeCreator.create(GameType.BASIC));
+  }
+}
@@ -11,6 +11,7 @@ import cs3500.klondike.model.hw02.Card;
 
 import cs3500.klondike.model.hw04.KlondikeCreator;
 import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.HintEngine;
 import cs3500.klondike.view.KlondikeTextualView;
 import java.io.IOException;
 import java.io.StringReader;
@@ -85,6 +86,59 @@ public class TestKlondikeController {
   }
 
 
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstructorWithNullHintEngine() {
+    new KlondikeTextualController(new StringReader(""), new StringBuilder(), null);
+  }
+
+  @Test
+  public void testHintDoesNotMove() {
+    StringReader input = new StringReader("h q");
+    StringBuilder output = new StringBuilder();
+    KlondikeController controller = new KlondikeTextualController(input, output,
+        new HintEngine(100));
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(getCard("A♢"));
+    customDeck.add(getCard("2♢"));
+    customDeck.add(getCard("3♢"));
+
+    // piles: [A♢], [2♢, 3♢], so the ace goes to the foundation first
+    controller.playGame(model, customDeck, false, 2, 5);
+    assertTrue(output.toString().contains("Hint: mpf 1 1"));
+    Assert.assertNull(model.getCardAt(0));
+    Assert.assertEquals(1, model.getPileHeight(0));
+  }
+
+  @Test
+  public void testHintWithDefaultEngine() {
+    StringReader input = new StringReader("h h q");
+    StringBuilder output = new StringBuilder();
+    KlondikeController controller = new KlondikeTextualController(input, output);
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(getCard("A♢"));
+    customDeck.add(getCard("2♢"));
+    customDeck.add(getCard("3♢"));
+
+    controller.playGame(model, customDeck, false, 2, 5);
+    Assert.assertEquals(2, output.toString().split("Hint: mpf 1 1", -1).length - 1);
+  }
+
+  @Test
+  public void testAutoPlayToFoundations() {
+    StringReader input = new StringReader("af q");
+    StringBuilder output = new StringBuilder();
+    KlondikeController controller = new KlondikeTextualController(input, output);
+    List<Card> customDeck = new ArrayList<>();
+    customDeck.add(getCard("A♢"));
+    customDeck.add(getCard("2♢"));
+    customDeck.add(getCard("3♢"));
+
+    // piles: [A♢], [2♢, 3♢], so only the ace is on top
+    controller.playGame(model, customDeck, false, 2, 5);
+    assertTrue(output.toString().contains("Moved 1 card to the foundations."));
+    Assert.assertEquals("A♢", model.getCardAt(0).toString());
+  }
+
   @Test
   public void testPlayGameWithNullModel() {
     KlondikeTextualController controller =
@@ -1,17 +1,26 @@
 package cs3500.klondike;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import cs3500.klondike.model.hw02.BasicKlondike;
 import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.DealGenerator;
 import cs3500.klondike.model.hw02.KlondikeModel;
 import cs3500.klondike.model.hw04.KlondikeCreator;
 import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
 import cs3500.klondike.model.hw04.LimitedDrawKlondike;
 import cs3500.klondike.model.hw04.WhiteheadKlondike;
+import cs3500.klondike.view.KlondikeTextualView;
+import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -118,4 +127,74 @@ public class TestKlondikeCreator {
         KlondikeCreator.createKlondike(KlondikeCreator.GameType.LIMITED, -1);
     assertTrue(model instanceof LimitedDrawKlondike);
   }
+
+  @Test
+  public void testCreateDealtIsReproducible() {
+    KlondikeModel first = KlondikeCreator.createDealt(GameType.BASIC, 42L, 7, 3);
+    KlondikeModel second = KlondikeCreator.createDealt(GameType.BASIC, 42L, 7, 3);
+    KlondikeModel other = KlondikeCreator.createDealt(GameType.BASIC, 43L, 7, 3);
+    assertEquals(new KlondikeTextualView(first).toString(),
+        new KlondikeTextualView(second).toString());
+    assertNotEquals(new KlondikeTextualView(first).toString(),
+        new KlondikeTextualView(other).toString());
+    assertEquals(4, first.getNumFoundations());
+  }
+
+  @Test
+  public void testCreateDealtMatchesDealingTheSameDeck() {
+    List<Card> deck = new ArrayList<>();
+    for (int code : DealGenerator.deal(-7L)) {
+      deck.add(model.getDeck().get(code));
+    }
+    model.startGame(deck, false, 9, 1);
+    KlondikeModel dealt = KlondikeCreator.createDealt(GameType.WHITEHEAD, -7L, 9, 1);
+    assertTrue(dealt instanceof WhiteheadKlondike);
+    assertEquals(model.getCardAt(8, 8), dealt.getCardAt(8, 8));
+    assertEquals(model.getDrawCards(), dealt.getDrawCards());
+  }
+
+  @Test
+  public void testDealIsAPermutationOfTheDeck() {
+    int[] cards = DealGenerator.deal(123456789L);
+    assertArrayEquals(cards, DealGenerator.deal(123456789L));
+    int[] sorted = cards.clone();
+    Arrays.sort(sorted);
+    for (int i = 0; i < sorted.length; i++) {
+      assertEquals(i, sorted[i]);
+    }
+    assertFalse(Arrays.equals(sorted, cards));
+  }
+
+  @Test
+  public void testSplitGeneratorsAreReproducibleAndDistinct() {
+    DealGenerator parent = new DealGenerator(99L);
+    DealGenerator first = parent.split();
+    DealGenerator second = parent.split();
+    DealGenerator again = new DealGenerator(99L).split();
+    long[] firstNumbers = new long[1000];
+    Set<Long> secondNumbers = new HashSet<>();
+    for (int i = 0; i < firstNumbers.length; i++) {
+      firstNumbers[i] = first.nextLong();
+      assertEquals(firstNumbers[i], again.nextLong());
+      secondNumbers.add(second.nextLong());
+    }
+    // sibling sequences step by different gammas, so they do not share a stretch of numbers
+    for (long number : firstNumbers) {
+      assertFalse(secondNumbers.contains(number));
+    }
+  }
+
+  @Test
+  public void testCreateDealtValidatesGameSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> KlondikeCreator.createDealt(GameType.LIMITED, 1, 0L, 10, 3));
+    assertThrows(IllegalArgumentException.class,
+        () -> KlondikeCreator.createDealt(GameType.BASIC, 0L, 7, 0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testStartDealtGameTwice() {
+    model.startGame(5L, 7, 3);
+    model.startGame(5L, 7, 3);
+  }
 }
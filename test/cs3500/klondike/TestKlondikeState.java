@@ -0,0 +1,169 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.KlondikeState;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongFunction;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link KlondikeState}, checking that states play every variant of the
+ * game exactly like the models they are made from, and never change once made.
+ */
+public class TestKlondikeState {
+
+  /**
+   * Returns the moves in a buffer as a sorted list, to compare the moves of two buffers.
+   *
+   * @param moves the buffer
+   * @return the encoded moves, sorted
+   */
+  private static List<Integer> toList(MoveBuffer moves) {
+    List<Integer> list = new ArrayList<>();
+    for (int i = 0; i < moves.size(); i++) {
+      list.add(moves.get(i));
+    }
+    Collections.sort(list);
+    return list;
+  }
+
+  /**
+   * Plays random legal moves on seeded deals of a variant, with a model and with states at
+   * the same time, checking at every position that the state equals a new snapshot of the
+   * model and gives the same moves and safe move, and that playing a move on the state does
+   * not change it.
+   *
+   * @param model creates the games to play from their deal numbers
+   */
+  private void checkStatesFollowModel(LongFunction<KlondikeModel> model) {
+    MoveBuffer stateMoves = new MoveBuffer();
+    RandomPlay.play(model, 10, 300, false, new RandomPlay.MoveCheck() {
+      // the state played alongside the game, or null before a game starts
+      private KlondikeState state;
+
+      @Override
+      public void check(KlondikeModel game, MoveBuffer legal, int move) {
+        if (this.state == null) {
+          this.state = game.getState();
+        }
+        assertEquals(game.getState(), this.state);
+        assertEquals(game.getState().hashCode(), this.state.hashCode());
+        assertEquals(game.getScore(), this.state.getScore());
+        assertEquals(game.getDrawCards(), this.state.getDrawCards());
+        this.state.legalMoves(stateMoves);
+        assertEquals(toList(legal), toList(stateMoves));
+        assertEquals(game.isGameOver(), this.state.isGameOver());
+        assertEquals(game.safeFoundationMove(), this.state.safeFoundationMove());
+        if (move < 0) {
+          this.state = null;
+          return;
+        }
+        KlondikeState after = this.state.apply(move);
+        assertEquals(game.getState(), this.state);
+        this.state = after;
+      }
+    });
+  }
+
+  @Test
+  public void testStatesFollowEveryVariant() {
+    checkStatesFollowModel(seed -> KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3));
+    checkStatesFollowModel(
+        seed -> KlondikeCreator.createDealt(GameType.LIMITED, 1, seed, 7, 1));
+    checkStatesFollowModel(
+        seed -> KlondikeCreator.createDealt(GameType.WHITEHEAD, seed, 7, 1));
+  }
+
+  @Test
+  public void testSnapshotMatchesModel() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    KlondikeState state = model.getState();
+    assertEquals(7, state.getNumPiles());
+    assertEquals(4, state.getNumFoundations());
+    assertEquals(3, state.getNumDraw());
+    assertEquals(52, state.getMaxScore());
+    assertEquals(model.getDrawCards(), state.getDrawCards());
+    for (int i = 0; i < 7; i++) {
+      assertEquals(i + 1, state.getPileHeight(i));
+      assertFalse(i > 0 && state.isCardVisible(i, i - 1));
+      assertEquals(model.getCardAt(i, i), state.getCardAt(i, i));
+      assertEquals(CardImpl.toCode(model.getCardAt(i, i)), state.getCardCodeAt(i, i));
+    }
+    assertNull(state.getCardAt(0));
+  }
+
+  @Test
+  public void testSnapshotIgnoresLaterModelMoves() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    KlondikeState state = model.getState();
+    model.discardDraw();
+    assertNotEquals(model.getDrawCards(), state.getDrawCards());
+    assertNotEquals(model.getState(), state);
+  }
+
+  @Test
+  public void testDiscardingAFullPassReturnsAnEqualState() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 8L, 7, 3);
+    KlondikeState start = model.getState();
+    KlondikeState state = start;
+    for (int i = 0; i < 52 - 28; i++) {
+      state = state.discardDraw();
+    }
+    assertEquals(start, state);
+    assertEquals(start.hashCode(), state.hashCode());
+  }
+
+  @Test
+  public void testLimitedStateRemovesDrawCardsOnLastPass() {
+    KlondikeState state = KlondikeCreator.createDealt(GameType.LIMITED, 0, 8L, 7, 3)
+        .getState();
+    for (int i = 0; i < 52 - 28; i++) {
+      state = state.discardDraw();
+    }
+    assertTrue(state.getDrawCards().isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMovePileToSamePile() {
+    KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3).getState().movePile(2, 1, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveFaceDownCards() {
+    KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3).getState().movePile(6, 2, 0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMoveAgainstRules() {
+    KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+    model.startGame(model.getDeck(), false, 7, 3);
+    // A♣ cannot go onto 2♣
+    model.getState().movePile(0, 1, 1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDiscardWithoutDrawCards() {
+    KlondikeState state = KlondikeCreator.createDealt(GameType.LIMITED, 0, 8L, 7, 3)
+        .getState();
+    for (int i = 0; i <= 52 - 28; i++) {
+      state = state.discardDraw();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testStateBeforeStart() {
+    KlondikeCreator.create(GameType.BASIC).getState();
+  }
+}
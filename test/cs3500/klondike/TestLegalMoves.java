@@ -0,0 +1,163 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link KlondikeModel#legalMoves(MoveBuffer)} on every variant of the game,
+ * checking that the generated moves are exactly the ones the model accepts.
+ */
+public class TestLegalMoves {
+
+  private MoveBuffer moves;
+
+  @Before
+  public void setup() {
+    moves = new MoveBuffer();
+  }
+
+  /**
+   * Checks that every move generated for a freshly started game is accepted by another game
+   * started the same way.
+   *
+   * @param type     the variant of the game
+   * @param numPiles the number of cascade piles
+   * @param numDraw  the number of visible draw cards
+   */
+  private void checkEveryMoveApplies(GameType type, int numPiles, int numDraw) {
+    KlondikeModel model = KlondikeCreator.create(type);
+    model.startGame(model.getDeck(), false, numPiles, numDraw);
+    model.legalMoves(moves);
+    assertFalse(moves.isEmpty());
+    for (int i = 0; i < moves.size(); i++) {
+      KlondikeModel other = KlondikeCreator.create(type);
+      other.startGame(other.getDeck(), false, numPiles, numDraw);
+      other.tryMove(moves.get(i)).throwIfFailed();
+    }
+  }
+
+  @Test
+  public void testEncodeRoundTrip() {
+    int move = MoveBuffer.encode(MoveBuffer.PILE_TO_PILE, 6, 13, 1023);
+    assertEquals(MoveBuffer.PILE_TO_PILE, MoveBuffer.type(move));
+    assertEquals(6, MoveBuffer.source(move));
+    assertEquals(13, MoveBuffer.numCards(move));
+    assertEquals(1023, MoveBuffer.destination(move));
+    move = MoveBuffer.encode(MoveBuffer.DISCARD_DRAW, 0, 0, 0);
+    assertEquals(MoveBuffer.DISCARD_DRAW, MoveBuffer.type(move));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLegalMovesBeforeStart() {
+    KlondikeCreator.create(GameType.BASIC).legalMoves(moves);
+  }
+
+  @Test
+  public void testBasicOpeningMoves() {
+    KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+    model.startGame(model.getDeck(), false, 7, 3);
+    model.legalMoves(moves);
+    // A♣ and A♢ to each of the 4 foundations, A♣ onto 2♡, and the discard
+    assertEquals(10, moves.size());
+    assertEquals(MoveBuffer.encode(MoveBuffer.PILE_TO_FOUNDATION, 0, 1, 0), moves.get(0));
+    assertEquals(MoveBuffer.encode(MoveBuffer.PILE_TO_PILE, 0, 1, 6), moves.get(8));
+    assertEquals(MoveBuffer.encode(MoveBuffer.DISCARD_DRAW, 0, 0, 0), moves.get(9));
+  }
+
+  @Test
+  public void testLegalMovesReusesBuffer() {
+    KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+    model.startGame(model.getDeck(), false, 7, 3);
+    model.legalMoves(moves);
+    int first = moves.size();
+    model.legalMoves(moves);
+    assertEquals(first, moves.size());
+  }
+
+  @Test
+  public void testEveryGeneratedMoveApplies() {
+    checkEveryMoveApplies(GameType.BASIC, 7, 3);
+    checkEveryMoveApplies(GameType.LIMITED, 7, 3);
+    checkEveryMoveApplies(GameType.WHITEHEAD, 7, 3);
+    checkEveryMoveApplies(GameType.WHITEHEAD, 9, 1);
+  }
+
+  @Test
+  public void testWhiteheadMovesOnlySameSuitRuns() {
+    KlondikeModel model = KlondikeCreator.create(GameType.WHITEHEAD);
+    List<Card> deck = new ArrayList<>();
+    for (Card c : model.getDeck()) {
+      if (c.getValue() <= 3) {
+        deck.add(c);
+      }
+    }
+    // piles: [A♣], [2♣, A♢], [3♣, 2♢, A♡]; draw: 3♢, 2♡, 3♡, A♠, 2♠, 3♠
+    model.startGame(deck, false, 3, 1);
+    model.legalMoves(moves);
+    for (int i = 0; i < moves.size(); i++) {
+      int move = moves.get(i);
+      if (MoveBuffer.type(move) == MoveBuffer.PILE_TO_PILE) {
+        assertEquals(1, MoveBuffer.numCards(move));
+      }
+    }
+    assertTrue(moves.size() > 0);
+  }
+
+  @Test
+  public void testNoDiscardWhenDrawPileIsUsedUp() {
+    KlondikeModel model = KlondikeCreator.createKlondike(GameType.LIMITED, 0);
+    List<Card> deck = new ArrayList<>();
+    for (Card c : model.getDeck()) {
+      if (c.getValue() <= 2) {
+        deck.add(c);
+      }
+    }
+    model.startGame(deck, false, 2, 1);
+    for (int i = 0; i < 5; i++) {
+      model.discardDraw();
+    }
+    model.legalMoves(moves);
+    for (int i = 0; i < moves.size(); i++) {
+      assertTrue(MoveBuffer.type(moves.get(i)) == MoveBuffer.PILE_TO_PILE
+          || MoveBuffer.type(moves.get(i)) == MoveBuffer.PILE_TO_FOUNDATION);
+    }
+  }
+
+  /**
+   * Plays random legal moves on seeded deals of a variant, checking at every position that the
+   * game is over exactly when there are no legal moves left.
+   *
+   * @param model         creates the games to play from their deal numbers
+   * @param preferDiscard whether to discard the draw card half of the time it is possible
+   * @return the number of games played to their end
+   */
+  private int checkGameOverMatchesLegalMoves(LongFunction<KlondikeModel> model,
+      boolean preferDiscard) {
+    return RandomPlay.play(model, 20, 400, preferDiscard,
+        (game, legal, move) -> assertEquals(legal.isEmpty(), game.isGameOver()));
+  }
+
+  @Test
+  public void testGameOverMatchesLegalMoves() {
+    checkGameOverMatchesLegalMoves(
+        seed -> KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3), false);
+    assertTrue(checkGameOverMatchesLegalMoves(
+        seed -> KlondikeCreator.createDealt(GameType.LIMITED, 0, seed, 7, 1), true) > 0);
+    assertTrue(checkGameOverMatchesLegalMoves(
+        seed -> KlondikeCreator.createDealt(GameType.WHITEHEAD, seed, 7, 1), false) > 0);
+    checkGameOverMatchesLegalMoves(
+        seed -> KlondikeCreator.createDealt(GameType.WHITEHEAD, seed, 4, 3), false);
+  }
+}
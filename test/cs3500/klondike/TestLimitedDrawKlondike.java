@@ -1,10 +1,12 @@
 package cs3500.klondike;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import cs3500.klondike.model.hw02.KlondikeModel;
 import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.MoveResult;
 
 import cs3500.klondike.model.hw04.KlondikeCreator;
 import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
@@ -90,6 +92,30 @@ public class TestLimitedDrawKlondike {
 
   }
 
+  @Test
+  public void testCopyKeepsRedrawsUsed() {
+    limitedModel.startGame(deckCustom, false, 2, 10);
+    for (int i = 0; i < 12; i++) {
+      limitedModel.discardDraw();
+    }
+    KlondikeModel copy = limitedModel.copy();
+    assertTrue(copy instanceof LimitedDrawKlondike);
+    for (int i = 0; i < 3; i++) {
+      copy.discardDraw();
+    }
+    assertThrows(IllegalStateException.class, copy::discardDraw);
+    assertEquals(3, limitedModel.getDrawCards().size());
+  }
+
+  @Test
+  public void testTryDiscardDrawReportsNoCardsLeft() {
+    limitedModel.startGame(deckCustom, false, 2, 10);
+    for (int i = 0; i < 15; i++) {
+      assertEquals(MoveResult.SUCCESS, limitedModel.tryDiscardDraw());
+    }
+    assertEquals(MoveResult.NO_CARDS, limitedModel.tryDiscardDraw());
+  }
+
 
   @Test
   public void testViewDD() {
@@ -0,0 +1,143 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.DealGenerator;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.MoveBuffer;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.simulation.BotPolicy;
+import cs3500.klondike.simulation.GreedyBot;
+import cs3500.klondike.simulation.MonteCarloSimulator;
+import cs3500.klondike.simulation.RandomBot;
+import cs3500.klondike.simulation.SimulationResult;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link MonteCarloSimulator} and the bots it plays with.
+ */
+public class TestMonteCarloSimulator {
+
+  /**
+   * Runs a simulation of basic games on a pool with the given number of threads.
+   *
+   * @param parallelism the number of threads
+   * @param policy      how the games are played
+   * @param numGames    the number of games
+   * @return the result of the run
+   */
+  private static SimulationResult simulate(int parallelism, BotPolicy policy, long numGames) {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return new MonteCarloSimulator(pool, policy, 2, 7, 3, 1000)
+          .simulate(GameType.BASIC, 100L, numGames);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSameTotalsOnAnyNumberOfThreads() {
+    SimulationResult one = simulate(1, new GreedyBot(), 2000);
+    SimulationResult four = simulate(4, new GreedyBot(), 2000);
+    assertEquals(2000, one.getNumGames());
+    assertEquals(one.getNumWins(), four.getNumWins());
+    assertEquals(one.getMeanScore(), four.getMeanScore(), 0);
+    assertEquals(one.getMeanMovesToWin(), four.getMeanMovesToWin(), 0);
+  }
+
+  @Test
+  public void testTotalsMatchGamesPlayedOneByOne() {
+    SimulationResult result = simulate(2, new GreedyBot(), 300);
+    BotPolicy bot = new GreedyBot();
+    MoveBuffer legal = new MoveBuffer();
+    long numWins = 0;
+    long scoreSum = 0;
+    for (long seed = 100L; seed < 400L; seed++) {
+      KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3);
+      DealGenerator random = new DealGenerator(seed).split();
+      int discardsInARow = 0;
+      for (int turn = 0; turn < 1000 && !game.isWon() && discardsInARow <= 52; turn++) {
+        game.legalMoves(legal);
+        int move = legal.isEmpty() ? -1 : bot.chooseMove(game, legal, random);
+        if (move < 0) {
+          break;
+        }
+        game.tryMove(move).throwIfFailed();
+        discardsInARow = MoveBuffer.type(move) == MoveBuffer.DISCARD_DRAW
+            ? discardsInARow + 1 : 0;
+      }
+      numWins += game.isWon() ? 1 : 0;
+      scoreSum += game.getScore();
+    }
+    assertEquals(numWins, result.getNumWins());
+    assertEquals(scoreSum / 300.0, result.getMeanScore(), 1e-9);
+  }
+
+  @Test
+  public void testWilsonInterval() {
+    SimulationResult result = simulate(2, new GreedyBot(), 1000);
+    double n = result.getNumGames();
+    double p = result.getWinRate();
+    double z = 1.959964;
+    double center = (p + z * z / (2 * n)) / (1 + z * z / n);
+    double half = z / (1 + z * z / n) * Math.sqrt(p * (1 - p) / n + z * z / (4 * n * n));
+    assertEquals(center - half, result.getWinRateLow(), 1e-9);
+    assertEquals(center + half, result.getWinRateHigh(), 1e-9);
+    assertTrue(result.getWinRateLow() <= p && p <= result.getWinRateHigh());
+    assertTrue(result.getWinRateLow() >= 0 && result.getWinRateHigh() <= 1);
+    assertTrue(result.getMeanScoreError() > 0);
+  }
+
+  @Test
+  public void testGreedyWinsInFewerMovesThanRandom() {
+    SimulationResult greedy = simulate(2, new GreedyBot(), 500);
+    SimulationResult random = simulate(2, new RandomBot(), 500);
+    assertTrue(greedy.getNumWins() > 0 && random.getNumWins() > 0);
+    assertTrue(greedy.getMeanMovesToWin() < random.getMeanMovesToWin());
+  }
+
+  @Test
+  public void testEveryType() {
+    Map<GameType, SimulationResult> results =
+        new MonteCarloSimulator(new GreedyBot(), 1, 7, 1, 1000).simulateEveryType(0L, 200);
+    assertEquals(GameType.values().length, results.size());
+    for (SimulationResult result : results.values()) {
+      assertEquals(200, result.getNumGames());
+      assertTrue(result.getMeanScore() > 0);
+    }
+  }
+
+  @Test
+  public void testNoGames() {
+    SimulationResult result = simulate(1, new GreedyBot(), 0);
+    assertEquals(0, result.getNumGames());
+    assertEquals(0, result.getWinRate(), 0);
+    assertEquals(0, result.getWinRateLow(), 0);
+    assertEquals(1, result.getWinRateHigh(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPolicy() {
+    new MonteCarloSimulator(null, 1, 7, 3, 100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveMoveLimit() {
+    new MonteCarloSimulator(new GreedyBot(), 1, 7, 3, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeNumberOfGames() {
+    new MonteCarloSimulator(new GreedyBot(), 1, 7, 3, 100).simulate(GameType.BASIC, 0L, -1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidGameSize() {
+    new MonteCarloSimulator(new GreedyBot(), 1, 11, 3, 100).simulate(GameType.BASIC, 0L, 10);
+  }
+}
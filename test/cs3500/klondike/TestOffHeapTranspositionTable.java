@@ -0,0 +1,123 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.DepthFirstSolver;
+import cs3500.klondike.solver.OffHeapTranspositionTable;
+import cs3500.klondike.solver.ParallelSolver;
+import cs3500.klondike.solver.SolverResult;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link OffHeapTranspositionTable}.
+ */
+public class TestOffHeapTranspositionTable {
+
+  @Test
+  public void testRecordsPositions() {
+    OffHeapTranspositionTable table = new OffHeapTranspositionTable(1000);
+    assertEquals(1024, table.capacity());
+    assertTrue(table.visit(42));
+    assertFalse(table.visit(42));
+    assertTrue(table.visit(0));
+    assertFalse(table.visit(0));
+    assertEquals(2, table.size());
+    table.clear();
+    assertEquals(0, table.size());
+    assertTrue(table.visit(42));
+  }
+
+  @Test
+  public void testFullTableReplacesPositions() {
+    OffHeapTranspositionTable table = new OffHeapTranspositionTable(1);
+    assertTrue(table.visit(5));
+    assertTrue(table.visit(6));
+    assertFalse(table.visit(6));
+    // the only slot now holds 6, so 5 is new again
+    assertTrue(table.visit(5));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  public void testRecordsEachPositionOnceAcrossThreads() throws InterruptedException {
+    OffHeapTranspositionTable table = new OffHeapTranspositionTable(1 << 14);
+    AtomicInteger firstVisits = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (long hash = 0; hash < 5000; hash++) {
+          // spread the hashes over the table the way Zobrist hashes are
+          if (table.visit(hash * 0x9E3779B97F4A7C15L + 7)) {
+            firstVisits.incrementAndGet();
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(5000, firstVisits.get());
+    assertEquals(5000, table.size());
+  }
+
+  @Test
+  public void testMappedFile() throws IOException {
+    Path file = Files.createTempFile("klondike", ".tt");
+    try {
+      OffHeapTranspositionTable table = OffHeapTranspositionTable.mapFile(file, 4096);
+      assertEquals(4096L * Long.BYTES, Files.size(file));
+      assertTrue(table.visit(123));
+      assertFalse(table.visit(123));
+      assertEquals(1, table.size());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testSolversSearchWithTable() {
+    OffHeapTranspositionTable table = new OffHeapTranspositionTable(1 << 20);
+    SolverResult result = new DepthFirstSolver(table, 1_000_000, 10_000)
+        .solve(KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3));
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    assertTrue(table.size() > 0);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      result = new ParallelSolver(pool, table, 1_000_000, 10_000)
+          .solve(KlondikeCreator.createDealt(GameType.WHITEHEAD, 4L, 7, 1));
+      assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveCapacity() {
+    new OffHeapTranspositionTable(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityTooLarge() {
+    new OffHeapTranspositionTable((1L << 40) + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFile() throws IOException {
+    OffHeapTranspositionTable.mapFile(null, 16);
+  }
+}
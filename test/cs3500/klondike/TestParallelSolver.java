@@ -0,0 +1,157 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.ConcurrentTranspositionTable;
+import cs3500.klondike.solver.KlondikeSolver;
+import cs3500.klondike.solver.ParallelSolver;
+import cs3500.klondike.solver.SolverResult;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import cs3500.klondike.solver.TranspositionTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link ParallelSolver} and {@link ConcurrentTranspositionTable}.
+ */
+public class TestParallelSolver {
+
+  /**
+   * Solves a deal on a pool of four threads.
+   *
+   * @param game     the game to solve
+   * @param maxNodes the most positions to search
+   * @return the result of the search
+   */
+  private static SolverResult solve(KlondikeModel game, long maxNodes) {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      return new ParallelSolver(pool, new ConcurrentTranspositionTable(1 << 20), maxNodes,
+          10_000).solve(game);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSolvesDeals() {
+    for (long seed : new long[] {2L, 3L, 4L, 5L}) {
+      SolverResult result = solve(KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3),
+          1_000_000);
+      assertEquals(Outcome.SOLVABLE, result.getOutcome());
+      TestDepthFirstSolver.checkMovesWin(result, GameType.BASIC, seed, 3);
+    }
+  }
+
+  @Test
+  public void testSolvingLeavesGameAlone() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3);
+    long hash = game.positionHash();
+    solve(game, 100_000);
+    assertEquals(hash, game.positionHash());
+    assertFalse(game.canUndo());
+  }
+
+  @Test
+  public void testUnsolvableDeal() {
+    KlondikeModel game = KlondikeCreator.create(GameType.BASIC);
+    List<Card> deck = new ArrayList<>();
+    deck.add(new CardImpl(3, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.HEARTS));
+    deck.add(new CardImpl(2, Suit.HEARTS));
+    // piles: [3♡], [A♡, 2♡], where the ace is face-down under the two
+    game.startGame(deck, false, 2, 1);
+    SolverResult result = solve(game, 100_000);
+    assertEquals(Outcome.UNSOLVABLE, result.getOutcome());
+    assertEquals(0, result.getMoves().length);
+  }
+
+  @Test
+  public void testGivesUpAfterNodeBudget() {
+    SolverResult result = solve(KlondikeCreator.createDealt(GameType.BASIC, 1L, 7, 3), 50);
+    assertEquals(Outcome.UNKNOWN, result.getOutcome());
+    assertTrue(result.getNodesSearched() >= 50);
+  }
+
+  @Test
+  public void testRunsOnCommonPool() {
+    KlondikeSolver solver = new ParallelSolver(100_000, 10_000);
+    SolverResult result = solver.solve(KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 3));
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    TestDepthFirstSolver.checkMovesWin(result, GameType.BASIC, 3L, 3);
+  }
+
+  @Test
+  public void testTableRecordsEachPositionOnce() throws InterruptedException {
+    TranspositionTable table = new ConcurrentTranspositionTable(1 << 12);
+    AtomicInteger firstVisits = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (long hash = 0; hash < 2000; hash++) {
+          // spread the hashes over the table the way Zobrist hashes are
+          if (table.visit(hash * 0x9E3779B97F4A7C15L + 7)) {
+            firstVisits.incrementAndGet();
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(2000, firstVisits.get());
+    assertEquals(2000, table.size());
+    table.clear();
+    assertEquals(0, table.size());
+    assertTrue(table.visit(7));
+  }
+
+  @Test
+  public void testFullTableReportsNewPositions() {
+    TranspositionTable table = new ConcurrentTranspositionTable(1);
+    assertTrue(table.visit(5));
+    assertFalse(table.visit(5));
+    // there is no room to record it, so it is reported as new every time
+    assertTrue(table.visit(6));
+    assertTrue(table.visit(6));
+    assertEquals(1, table.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveTableCapacity() {
+    new ConcurrentTranspositionTable(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPool() {
+    new ParallelSolver(null, new ConcurrentTranspositionTable(16), 10, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveBudget() {
+    new ParallelSolver(10, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGame() {
+    new ParallelSolver(10, 10).solve(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGameNotStarted() {
+    new ParallelSolver(10, 10).solve(KlondikeCreator.create(GameType.BASIC));
+  }
+}
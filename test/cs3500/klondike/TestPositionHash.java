@@ -0,0 +1,176 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.KlondikeState;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongFunction;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link KlondikeModel#positionHash()}, checking that games in the same
+ * position have the same hash and games in different positions do not.
+ */
+public class TestPositionHash {
+
+  /**
+   * Plays random moves on seeded deals of a variant and then undoes them all, and checks that
+   * every position reached has one hash, and that no two positions reached share one.
+   *
+   * @param model creates the games to play from their deal numbers
+   */
+  private void checkHashMatchesPosition(LongFunction<KlondikeModel> model) {
+    Map<KlondikeState, Long> hashes = new HashMap<>();
+    Map<Long, KlondikeState> positions = new HashMap<>();
+    RandomPlay.play(model, 10, 300, false, (game, legal, move) -> {
+      checkHash(game, hashes, positions);
+      if (move < 0) {
+        // going back through every position gives the hashes the moves gave
+        while (game.canUndo()) {
+          game.undo();
+          checkHash(game, hashes, positions);
+        }
+      }
+    });
+  }
+
+  /**
+   * Checks that the position of a game has the hash it had when it was seen before, and that
+   * no other position seen before had that hash, then records both.
+   *
+   * @param game      the game
+   * @param hashes    the hash of every position seen so far
+   * @param positions the position of every hash seen so far
+   */
+  private static void checkHash(KlondikeModel game, Map<KlondikeState, Long> hashes,
+      Map<Long, KlondikeState> positions) {
+    KlondikeState state = game.getState();
+    long hash = game.positionHash();
+    assertEquals(hashes.getOrDefault(state, hash).longValue(), hash);
+    assertEquals(positions.getOrDefault(hash, state), state);
+    hashes.put(state, hash);
+    positions.put(hash, state);
+  }
+
+  @Test
+  public void testHashMatchesPositionInEveryVariant() {
+    checkHashMatchesPosition(seed -> KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3));
+    checkHashMatchesPosition(
+        seed -> KlondikeCreator.createDealt(GameType.LIMITED, 1, seed, 7, 1));
+    checkHashMatchesPosition(
+        seed -> KlondikeCreator.createDealt(GameType.WHITEHEAD, seed, 7, 1));
+  }
+
+  /**
+   * Starts a game of a variant on a shuffled shoe of two decks.
+   *
+   * @param model   the unstarted game
+   * @param seed    the seed of the shuffle
+   * @param numDraw the number of visible draw cards
+   * @return the started game
+   */
+  private static KlondikeModel dealTwoDecks(KlondikeModel model, long seed, int numDraw) {
+    List<Card> shoe = new ArrayList<>(model.getDeck());
+    shoe.addAll(model.getDeck());
+    Collections.shuffle(shoe, new Random(seed));
+    model.startGame(shoe, false, 7, numDraw);
+    return model;
+  }
+
+  @Test
+  public void testHashMatchesPositionWithTwoDecks() {
+    checkHashMatchesPosition(
+        seed -> dealTwoDecks(KlondikeCreator.create(GameType.BASIC), seed, 3));
+    checkHashMatchesPosition(
+        seed -> dealTwoDecks(KlondikeCreator.createKlondike(GameType.LIMITED, 1), seed, 1));
+  }
+
+  @Test
+  public void testDuplicateDrawCardsHashByOrder() {
+    List<Card> cards = new ArrayList<>();
+    for (int value = 1; value <= 3; value++) {
+      cards.add(new CardImpl(value, Suit.CLUBS));
+      cards.add(new CardImpl(value, Suit.CLUBS));
+    }
+    // every distinct order of the six cards, one on the only pile and five in the draw pile
+    Set<List<Card>> orders = new HashSet<>();
+    Set<Long> hashes = new HashSet<>();
+    addOrders(cards, 0, orders);
+    for (List<Card> order : orders) {
+      KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+      model.startGame(order, false, 1, 1);
+      hashes.add(model.positionHash());
+    }
+    assertEquals(90, orders.size());
+    assertEquals(orders.size(), hashes.size());
+  }
+
+  /**
+   * Adds every order of a list of cards that keeps its first cards in place.
+   *
+   * @param cards  the cards, which are reordered while this runs and put back after
+   * @param from   the number of first cards to keep in place
+   * @param orders the set to add the orders to
+   */
+  private static void addOrders(List<Card> cards, int from, Set<List<Card>> orders) {
+    if (from == cards.size()) {
+      orders.add(new ArrayList<>(cards));
+      return;
+    }
+    for (int i = from; i < cards.size(); i++) {
+      Collections.swap(cards, from, i);
+      addOrders(cards, from + 1, orders);
+      Collections.swap(cards, from, i);
+    }
+  }
+
+  @Test
+  public void testFullPassThroughDrawPileKeepsHash() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 6L, 7, 3);
+    long start = model.positionHash();
+    model.discardDraw();
+    assertNotEquals(start, model.positionHash());
+    for (int i = 1; i < 52 - 28; i++) {
+      model.discardDraw();
+    }
+    assertEquals(start, model.positionHash());
+  }
+
+  @Test
+  public void testLimitedPassChangesHash() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.LIMITED, 2, 6L, 7, 3);
+    long start = model.positionHash();
+    for (int i = 0; i < 52 - 28; i++) {
+      model.discardDraw();
+    }
+    // the same cards are in the same order, but there is one less redraw left
+    assertNotEquals(start, model.positionHash());
+  }
+
+  @Test
+  public void testSameDealSameHash() {
+    assertEquals(KlondikeCreator.createDealt(GameType.BASIC, 6L, 7, 3).positionHash(),
+        KlondikeCreator.createDealt(GameType.BASIC, 6L, 7, 3).positionHash());
+    assertNotEquals(KlondikeCreator.createDealt(GameType.BASIC, 6L, 7, 3).positionHash(),
+        KlondikeCreator.createDealt(GameType.BASIC, 7L, 7, 3).positionHash());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHashBeforeStart() {
+    KlondikeCreator.create(GameType.BASIC).positionHash();
+  }
+}
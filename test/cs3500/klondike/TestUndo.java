@@ -0,0 +1,153 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw02.KlondikeState;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import org.junit.Test;
+
+/**
+ * Contains tests for undoing and redoing moves with {@link KlondikeModel#undo()} and
+ * {@link KlondikeModel#redo()} on every variant of the game.
+ */
+public class TestUndo {
+
+  /**
+   * Plays random legal moves on seeded deals of a variant, then undoes every move and redoes
+   * them all again, checking that the game goes through the same states each way.
+   *
+   * @param model         creates the games to play from their deal numbers
+   * @param preferDiscard whether to discard the draw card half of the time it is possible
+   */
+  private void checkUndoRedoEveryMove(LongFunction<KlondikeModel> model, boolean preferDiscard) {
+    List<KlondikeState> states = new ArrayList<>();
+    RandomPlay.play(model, 10, 200, preferDiscard, (game, legal, move) -> {
+      states.add(game.getState());
+      if (move >= 0) {
+        return;
+      }
+      for (int i = states.size() - 2; i >= 0; i--) {
+        game.undo();
+        assertEquals(states.get(i), game.getState());
+      }
+      assertFalse(game.canUndo());
+      for (int i = 1; i < states.size(); i++) {
+        game.redo();
+        assertEquals(states.get(i), game.getState());
+        assertEquals(states.get(i).getScore(), game.getScore());
+      }
+      assertFalse(game.canRedo());
+      assertEquals(legal.isEmpty(), game.isGameOver());
+      states.clear();
+    });
+  }
+
+  @Test
+  public void testUndoRedoEveryVariant() {
+    checkUndoRedoEveryMove(seed -> KlondikeCreator.createDealt(GameType.BASIC, seed, 7, 3),
+        false);
+    checkUndoRedoEveryMove(
+        seed -> KlondikeCreator.createDealt(GameType.LIMITED, 1, seed, 7, 1), true);
+    checkUndoRedoEveryMove(seed -> KlondikeCreator.createDealt(GameType.WHITEHEAD, seed, 7, 1),
+        false);
+  }
+
+  @Test
+  public void testUndoTurnsCardFaceDownAgain() {
+    KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+    List<Card> deck = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      deck.add(new CardImpl(i, Suit.HEARTS));
+      deck.add(new CardImpl(i, Suit.CLUBS));
+      deck.add(new CardImpl(i, Suit.HEARTS));
+    }
+    // piles: [A♡], [A♣, A♡], where A♣ is face-down
+    model.startGame(deck, false, 2, 1);
+    model.moveToFoundation(1, 0);
+    assertTrue(model.isCardVisible(1, 0));
+    model.undo();
+    assertFalse(model.isCardVisible(1, 0));
+    assertEquals(2, model.getPileHeight(1));
+    assertNull(model.getCardAt(0));
+    assertEquals(0, model.getScore());
+  }
+
+  @Test
+  public void testLimitedUndoRestoresRedraws() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.LIMITED, 0, 4L, 7, 1);
+    KlondikeState start = model.getState();
+    for (int i = 0; i < 24; i++) {
+      model.discardDraw();
+    }
+    // no redraws are allowed, so every card was discarded for good
+    assertTrue(model.getDrawCards().isEmpty());
+    for (int i = 0; i < 24; i++) {
+      model.undo();
+    }
+    assertEquals(start, model.getState());
+    assertEquals(start.getDrawCards(), model.getDrawCards());
+  }
+
+  @Test
+  public void testRedoKeptWhenSameMoveMadeAgain() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 4L, 7, 3);
+    model.discardDraw();
+    model.discardDraw();
+    model.undo();
+    model.undo();
+    model.discardDraw();
+    assertTrue(model.canRedo());
+    model.redo();
+    assertFalse(model.canRedo());
+  }
+
+  @Test
+  public void testOtherMoveForgetsRedo() {
+    KlondikeModel model = KlondikeCreator.create(GameType.BASIC);
+    model.startGame(model.getDeck(), false, 7, 3);
+    model.discardDraw();
+    model.undo();
+    model.moveToFoundation(0, 0);
+    assertFalse(model.canRedo());
+    assertTrue(model.canUndo());
+  }
+
+  @Test
+  public void testCopyKeepsHistory() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 4L, 7, 3);
+    KlondikeState start = model.getState();
+    model.discardDraw();
+    KlondikeModel copy = model.copy();
+    copy.undo();
+    assertEquals(start, copy.getState());
+    assertTrue(model.canUndo());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUndoWithoutMoves() {
+    KlondikeCreator.createDealt(GameType.BASIC, 4L, 7, 3).undo();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRedoWithoutUndo() {
+    KlondikeModel model = KlondikeCreator.createDealt(GameType.BASIC, 4L, 7, 3);
+    model.discardDraw();
+    model.redo();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUndoBeforeStart() {
+    KlondikeCreator.create(GameType.BASIC).undo();
+  }
+}
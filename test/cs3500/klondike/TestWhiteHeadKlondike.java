@@ -9,6 +9,7 @@ import cs3500.klondike.controller.KlondikeController;
 import cs3500.klondike.controller.KlondikeTextualController;
 import cs3500.klondike.model.hw02.KlondikeModel;
 import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.MoveResult;
 
 import cs3500.klondike.model.hw04.KlondikeCreator;
 import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
@@ -296,25 +297,60 @@ public class TestWhiteHeadKlondike {
     List<Card> deck = whiteModel.getDeck();  // Standard deck
     whiteModel.startGame(deck, false, -1, 1);  // Should throw exception
   }
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+  @Test
+  public void testTryMovePileOfMixedSuitsIsNotAllowed() {
+    List<Card> deck = new ArrayList<>();
+    for (Card c : whiteModel.getDeck()) {
+      if (c.getValue() <= 3) {
+        deck.add(c);
+      }
+    }
+    // piles: [A♣], [2♣, A♢], [3♣, 2♢, A♡]
+    whiteModel.startGame(deck, false, 3, 1);
+    assertEquals(MoveResult.NOT_ALLOWED, whiteModel.tryMovePile(2, 2, 0));
+    assertEquals(MoveResult.NOT_ALLOWED, whiteModel.tryMovePile(1, 2, 2));
+    assertThrows(IllegalStateException.class, () -> whiteModel.movePile(2, 2, 0));
+    assertEquals(3, whiteModel.getPileHeight(2));
+  }
 
+  @Test
+  public void testMoveSameSuitRunOntoEmptyPile() {
+    List<Card> deck = new ArrayList<>();
+    for (String card : new String[]{"A♣", "3♣", "2♣", "A♢", "2♢", "3♢", "A♡", "2♡", "3♡",
+        "A♠", "2♠", "3♠"}) {
+      deck.add(getWhiteHeadCard(card));
+    }
+    // piles: [A♣], [3♣, 2♣]
+    whiteModel.startGame(deck, false, 2, 1);
+    assertEquals(2, whiteModel.getRunLength(1));
+    assertEquals(MoveResult.NOT_ALLOWED, whiteModel.tryMovePile(1, 2, 0));
+    whiteModel.moveToFoundation(0, 0);
+    assertEquals(MoveResult.INVALID_CARDS, whiteModel.tryMovePile(1, 3, 0));
+    assertEquals(MoveResult.SUCCESS, whiteModel.tryMovePile(1, 2, 0));
+    assertEquals(2, whiteModel.getPileHeight(0));
+    assertEquals(0, whiteModel.getPileHeight(1));
+    // the run can go back, and so can just its top card
+    assertEquals(MoveResult.SUCCESS, whiteModel.tryMovePile(0, 1, 1));
+    assertEquals(MoveResult.SUCCESS, whiteModel.tryMovePile(1, 1, 0));
+    assertEquals(MoveResult.SUCCESS, whiteModel.tryMovePile(0, 2, 1));
+    assertEquals("2♣", whiteModel.getCardAt(1, 1).toString());
+  }
 
+  @Test
+  public void testMovePileWithDuplicateCardsOnlyMovesTheTop() {
+    List<Card> deck = new ArrayList<>();
+    for (String card : new String[]{"3♣", "2♣", "2♣", "A♣", "A♣", "3♣", "A♠", "A♠", "2♠",
+        "2♠", "3♠", "3♠"}) {
+      deck.add(getWhiteHeadCard(card));
+    }
+    // piles: [3♣], [2♣, 2♣]
+    whiteModel.startGame(deck, false, 2, 1);
+    whiteModel.movePile(1, 1, 0);
+    assertEquals(2, whiteModel.getPileHeight(0));
+    assertEquals(1, whiteModel.getPileHeight(1));
+    assertEquals("2♣", whiteModel.getCardAt(1, 0).toString());
+    assertEquals(2, whiteModel.getRunLength(0));
+    assertEquals(1, whiteModel.getRunLength(1));
+  }
+}
@@ -0,0 +1,102 @@
+package cs3500.klondike;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.klondike.model.hw02.Card;
+import cs3500.klondike.model.hw02.CardImpl;
+import cs3500.klondike.model.hw02.CardImpl.Suit;
+import cs3500.klondike.model.hw02.KlondikeModel;
+import cs3500.klondike.model.hw04.KlondikeCreator;
+import cs3500.klondike.model.hw04.KlondikeCreator.GameType;
+import cs3500.klondike.solver.DepthFirstSolver;
+import cs3500.klondike.solver.SolverResult;
+import cs3500.klondike.solver.SolverResult.Outcome;
+import cs3500.klondike.solver.WhiteheadSolver;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Contains tests for {@link WhiteheadSolver}.
+ */
+public class TestWhiteheadSolver {
+
+  @Test
+  public void testSolvesDeals() {
+    for (long seed : new long[] {1L, 3L, 4L, 5L}) {
+      SolverResult result = new WhiteheadSolver(100_000, 10_000)
+          .solve(KlondikeCreator.createDealt(GameType.WHITEHEAD, seed, 7, 1));
+      assertEquals(Outcome.SOLVABLE, result.getOutcome());
+      TestDepthFirstSolver.checkMovesWin(result, GameType.WHITEHEAD, seed, 1);
+    }
+  }
+
+  @Test
+  public void testFindsShorterSolutionThanDepthFirst() {
+    SolverResult depthFirst = new DepthFirstSolver(1_000_000, 10_000)
+        .solve(KlondikeCreator.createDealt(GameType.WHITEHEAD, 3L, 7, 1));
+    SolverResult result = new WhiteheadSolver(100_000, 10_000)
+        .solve(KlondikeCreator.createDealt(GameType.WHITEHEAD, 3L, 7, 1));
+    assertEquals(Outcome.SOLVABLE, depthFirst.getOutcome());
+    assertTrue(result.getMoves().length < depthFirst.getMoves().length);
+  }
+
+  @Test
+  public void testWeightOfOneFindsShortestSolution() {
+    KlondikeModel game = KlondikeCreator.create(GameType.WHITEHEAD);
+    List<Card> deck = new ArrayList<>();
+    deck.add(new CardImpl(2, Suit.HEARTS));
+    deck.add(new CardImpl(1, Suit.HEARTS));
+    deck.add(new CardImpl(3, Suit.HEARTS));
+    // piles: [2♡], [A♡, 3♡]; the two goes on the three, both move to the first pile, and
+    // then all three cards go to the foundation pile
+    game.startGame(deck, false, 2, 1);
+    SolverResult result = new WhiteheadSolver(1, 100_000, 10_000).solve(game);
+    assertEquals(Outcome.SOLVABLE, result.getOutcome());
+    assertEquals(5, result.getMoves().length);
+  }
+
+  @Test
+  public void testSolvingLeavesGameAlone() {
+    KlondikeModel game = KlondikeCreator.createDealt(GameType.WHITEHEAD, 3L, 7, 1);
+    long hash = game.positionHash();
+    new WhiteheadSolver(100_000, 10_000).solve(game);
+    assertEquals(hash, game.positionHash());
+    assertFalse(game.canUndo());
+  }
+
+  @Test
+  public void testGivesUpAfterNodeBudget() {
+    SolverResult result = new WhiteheadSolver(50, 10_000)
+        .solve(KlondikeCreator.createDealt(GameType.WHITEHEAD, 10L, 7, 1));
+    assertEquals(Outcome.UNKNOWN, result.getOutcome());
+    assertEquals(50, result.getNodesSearched());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOtherVariant() {
+    new WhiteheadSolver(10, 10).solve(KlondikeCreator.createDealt(GameType.BASIC, 3L, 7, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightBelowOne() {
+    new WhiteheadSolver(0.5, 10, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveBudget() {
+    new WhiteheadSolver(10, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGame() {
+    new WhiteheadSolver(10, 10).solve(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGameNotStarted() {
+    new WhiteheadSolver(10, 10).solve(KlondikeCreator.create(GameType.WHITEHEAD));
+  }
+}